@@ -0,0 +1,119 @@
+import java.util.Arrays;
+
+import se.kth.dd2480.group_11.decide.benchmarks.DecisionTarget;
+
+/**
+ * Binds the benchmarked operations of AntiMissileSystem to a track, see DecisionTarget.
+ */
+public class DecisionTargets implements DecisionTarget {
+
+    private final AntiMissileSystem system;
+    private final PackedDecision packedDecision;
+
+    private DecisionTargets(AntiMissileSystem system) {
+        this.system = system;
+        this.packedDecision = new PackedDecision(system.lcm, system.puv);
+    }
+
+    /**
+     * Called reflectively by DecisionTarget.create().
+     * @param xs
+     * @param ys
+     * @param parameterSet name of a ParameterSet
+     * @return the operations on a system for the track, with every LIC unlocked and joined by ANDD
+     */
+    public static DecisionTarget create(double[] xs, double[] ys, String parameterSet) {
+        Connector[][] lcm = new Connector[15][15];
+        for (Connector[] row : lcm) {
+            Arrays.fill(row, Connector.ANDD);
+        }
+        boolean[] puv = new boolean[15];
+        Arrays.fill(puv, true);
+        return new DecisionTargets(new AntiMissileSystem(xs.length, xs, ys, parameters(parameterSet, xs.length), lcm, puv));
+    }
+
+    private static Parameters parameters(String parameterSet, int numPoints) {
+        Parameters parameters = new Parameters();
+        if (parameterSet.equals("EASILY_MET")) {
+            parameters.length1 = 0.5;
+            parameters.radius1 = 0.5;
+            parameters.epsilon = 0.1;
+            parameters.area1 = 0.5;
+            parameters.qPts = Math.min(numPoints, 3);
+            parameters.qUads = 1;
+            parameters.dist = 0.5;
+            parameters.nPTS = Math.min(numPoints, 3);
+            parameters.length2 = 1000;
+            parameters.radius2 = 1000;
+            parameters.area2 = 1000;
+        } else {
+            int window = parameterSet.equals("WIDE_WINDOWS") ? 1024 : 64;
+            parameters.length1 = Double.MAX_VALUE;
+            parameters.radius1 = Double.MAX_VALUE;
+            parameters.epsilon = Math.PI;
+            parameters.area1 = Double.MAX_VALUE;
+            parameters.qPts = Math.min(numPoints, window);
+            parameters.qUads = 3;
+            parameters.dist = Double.MAX_VALUE;
+            parameters.nPTS = Math.min(numPoints, window);
+            parameters.length2 = 0;
+            parameters.radius2 = Double.MAX_VALUE;
+            parameters.area2 = 0;
+        }
+        parameters.kPTS = 1;
+        parameters.aPTS = 1;
+        parameters.bPTS = 1;
+        parameters.cPTS = 1;
+        parameters.dPTS = 1;
+        parameters.ePTS = 1;
+        parameters.fPTS = 1;
+        parameters.gPTS = 1;
+        return parameters;
+    }
+
+    @Override
+    public boolean lic(int index) {
+        return system.lic(index);
+    }
+
+    @Override
+    public void populateCMV() {
+        system.populateCMV();
+    }
+
+    @Override
+    public void populatePUM() {
+        system.populatePUM();
+    }
+
+    @Override
+    public void generateFUV() {
+        system.generateFUV();
+    }
+
+    @Override
+    public short packedFUV() {
+        return packedDecision.fuv(PackedDecision.pack(system.cmv));
+    }
+
+    @Override
+    public boolean inCircle(int index, double radius) {
+        double[] xs = system.xs;
+        double[] ys = system.ys;
+        return Geometry.inCircle(xs[index], ys[index], xs[index + 1], ys[index + 1], xs[index + 2], ys[index + 2], Geometry.signedSquare(radius));
+    }
+
+    @Override
+    public boolean decide() {
+        Arrays.fill(system.fuv, false);
+        system.populateCMV();
+        system.populatePUM();
+        system.generateFUV();
+        return system.decide();
+    }
+
+    @Override
+    public boolean decideLazily() {
+        return system.decideLazily();
+    }
+}
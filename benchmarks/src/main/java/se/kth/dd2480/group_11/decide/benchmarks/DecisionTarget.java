@@ -0,0 +1,52 @@
+package se.kth.dd2480.group_11.decide.benchmarks;
+
+/**
+ * The operations of the decision pipeline that are benchmarked, bound to one track and one
+ * configuration. JMH does not accept benchmarks in the default package and a named package
+ * cannot refer to the default package, so the benchmarks reach AntiMissileSystem through
+ * this interface, implemented by the default package class DecisionTargets.
+ */
+public interface DecisionTarget {
+
+    boolean lic(int index);
+
+    void populateCMV();
+
+    void populatePUM();
+
+    void generateFUV();
+
+    /**
+     * populatePUM and generateFUV on the bitsets of PackedDecision.
+     */
+    short packedFUV();
+
+    /**
+     * @return whether the triple starting at index fits in a circle of radius
+     */
+    boolean inCircle(int index, double radius);
+
+    /**
+     * Run the full pipeline, populateCMV, populatePUM, generateFUV and decide.
+     */
+    boolean decide();
+
+    /**
+     * Decide with AntiMissileSystem.decideLazily().
+     */
+    boolean decideLazily();
+
+    /**
+     * Load the implementation from the default package.
+     */
+    static DecisionTarget create(double[] xs, double[] ys, ParameterSet parameterSet) {
+        try {
+            Class<?> targets = Class.forName("DecisionTargets");
+            return (DecisionTarget) targets
+                    .getMethod("create", double[].class, double[].class, String.class)
+                    .invoke(null, xs, ys, parameterSet.name());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("DecisionTargets is not on the class path", e);
+        }
+    }
+}
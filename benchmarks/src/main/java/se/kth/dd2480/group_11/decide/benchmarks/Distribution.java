@@ -0,0 +1,52 @@
+package se.kth.dd2480.group_11.decide.benchmarks;
+
+import java.util.Random;
+
+/**
+ * How the points of a benchmarked track are laid out.
+ */
+public enum Distribution {
+    // Uniform in [-1000, 1000] x [-1000, 1000].
+    RANDOM,
+    // On the line y = 2x + 1 with increasing x, so no angle, area or x-decrease is ever found.
+    COLLINEAR,
+    // All points at (1, 1), every distance, area and angle is degenerate.
+    COINCIDENT,
+    // Gaussian clusters of radius 1 around eight centers, many short distances and thin triangles.
+    CLUSTERED;
+
+    /**
+     * @return the coordinates of a track of numPoints points, xs in [0] and ys in [1]
+     */
+    public double[][] generate(int numPoints, long seed) {
+        Random random = new Random(seed);
+        double[] xs = new double[numPoints];
+        double[] ys = new double[numPoints];
+        double[] centers = new double[16];
+        for (int i = 0; i < centers.length; i++) {
+            centers[i] = random.nextDouble() * 2000 - 1000;
+        }
+        for (int i = 0; i < numPoints; i++) {
+            switch (this) {
+                case RANDOM:
+                    xs[i] = random.nextDouble() * 2000 - 1000;
+                    ys[i] = random.nextDouble() * 2000 - 1000;
+                    break;
+                case COLLINEAR:
+                    xs[i] = i;
+                    ys[i] = 2.0 * i + 1;
+                    break;
+                case COINCIDENT:
+                    xs[i] = 1;
+                    ys[i] = 1;
+                    break;
+                case CLUSTERED:
+                    int cluster = random.nextInt(8);
+                    xs[i] = centers[2 * cluster] + random.nextGaussian();
+                    ys[i] = centers[2 * cluster + 1] + random.nextGaussian();
+                    break;
+            }
+        }
+        return new double[][]{xs, ys};
+    }
+}
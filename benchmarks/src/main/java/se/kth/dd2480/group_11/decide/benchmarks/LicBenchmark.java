@@ -0,0 +1,53 @@
+package se.kth.dd2480.group_11.decide.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of each LIC on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LicBenchmark {
+
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14"})
+    public int lic;
+
+    @Param({"100", "10000", "1000000"})
+    public int numPoints;
+
+    @Param({"RANDOM", "COLLINEAR", "COINCIDENT", "CLUSTERED"})
+    public Distribution distribution;
+
+    @Param({"NEVER_MET", "WIDE_WINDOWS", "EASILY_MET"})
+    public ParameterSet parameterSet;
+
+    private DecisionTarget target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        double[][] track = distribution.generate(numPoints, 42);
+        target = DecisionTarget.create(track[0], track[1], parameterSet);
+    }
+
+    @Benchmark
+    public boolean lic() {
+        return target.lic(lic);
+    }
+}
@@ -0,0 +1,14 @@
+package se.kth.dd2480.group_11.decide.benchmarks;
+
+/**
+ * Named configurations of the LIC parameters, resolved by DecisionTargets.
+ */
+public enum ParameterSet {
+    // No threshold is ever exceeded, so every LIC scans the whole track without an early exit.
+    // Windows are 64 points and all separations are one point.
+    NEVER_MET,
+    // Like NEVER_MET but Q_PTS and N_PTS are 1024 points, the worst case of LIC 4 and LIC 6.
+    WIDE_WINDOWS,
+    // Small thresholds that most tracks meet early, the common case of the early exits.
+    EASILY_MET
+}
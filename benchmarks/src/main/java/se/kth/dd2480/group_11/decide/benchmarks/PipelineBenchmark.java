@@ -0,0 +1,85 @@
+package se.kth.dd2480.group_11.decide.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of the stages of the decision pipeline and of the whole pipeline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PipelineBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int numPoints;
+
+    @Param({"RANDOM", "COLLINEAR", "COINCIDENT", "CLUSTERED"})
+    public Distribution distribution;
+
+    @Param({"NEVER_MET", "WIDE_WINDOWS", "EASILY_MET"})
+    public ParameterSet parameterSet;
+
+    private DecisionTarget target;
+    private int triple;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        double[][] track = distribution.generate(numPoints, 42);
+        target = DecisionTarget.create(track[0], track[1], parameterSet);
+        target.populateCMV();
+        target.populatePUM();
+    }
+
+    @Benchmark
+    public void populateCMV() {
+        target.populateCMV();
+    }
+
+    @Benchmark
+    public void populatePUM() {
+        target.populatePUM();
+    }
+
+    @Benchmark
+    public void generateFUV() {
+        target.generateFUV();
+    }
+
+    @Benchmark
+    public short packedFUV() {
+        return target.packedFUV();
+    }
+
+    @Benchmark
+    public boolean inCircle() {
+        // Walk the track so that every call sees a different triple
+        triple = triple + 1 < numPoints - 2 ? triple + 1 : 0;
+        return target.inCircle(triple, 10.0);
+    }
+
+    @Benchmark
+    public boolean decide() {
+        return target.decide();
+    }
+
+    @Benchmark
+    public boolean decideLazily() {
+        return target.decideLazily();
+    }
+}
@@ -0,0 +1,45 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of one launch decision, see JfrDecisionEvents.
+ */
+@Name("decide.Decision")
+@Label("Launch Decision")
+@Category("Decide")
+@Description("A launch decision of AntiMissileSystem")
+@StackTrace(false)
+class DecisionEvent extends Event {
+
+    @Label("Points")
+    @Description("The number of points of the track")
+    int numPoints;
+
+    @Label("Configuration")
+    @Description("Fingerprint of the parameters, LCM and PUV")
+    long fingerprint;
+
+    @Label("LIC Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cmvDuration;
+
+    @Label("PUM Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long pumDuration;
+
+    @Label("FUV Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long fuvDuration;
+
+    @Label("Lazy")
+    @Description("Whether only the LICs needed for the outcome were evaluated")
+    boolean lazy;
+
+    @Label("Launch")
+    boolean launch;
+}
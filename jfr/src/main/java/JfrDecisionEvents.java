@@ -0,0 +1,71 @@
+import jdk.jfr.EventType;
+
+/**
+ * DecisionEvents as Java Flight Recorder events, loaded as DecisionEvents.DEFAULT when this
+ * module is on the class path. decide.Decision is an event per decision and decide.SlowLic an
+ * event per LIC evaluation above its threshold. Both are enabled and configured through the
+ * usual JFR settings, e.g.
+ * <pre>
+ *   java -XX:StartFlightRecording:settings=profile,decide.Decision#enabled=true,decide.SlowLic#threshold=100us ...
+ * </pre>
+ * An event is only created while its type is enabled in a running recording.
+ */
+public final class JfrDecisionEvents implements DecisionEvents {
+
+    private final EventType decisionType = EventType.getEventType(DecisionEvent.class);
+    private final EventType licType = EventType.getEventType(SlowLicEvent.class);
+
+    @Override
+    public Object beginDecision() {
+        if (!decisionType.isEnabled()) {
+            return null;
+        }
+        DecisionEvent event = new DecisionEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitDecision(Object started, int numPoints, long fingerprint, long cmvNanos, long pumNanos,
+                               long fuvNanos, boolean lazy, boolean launch) {
+        DecisionEvent event = (DecisionEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.numPoints = numPoints;
+            event.fingerprint = fingerprint;
+            event.cmvDuration = cmvNanos;
+            event.pumDuration = pumNanos;
+            event.fuvDuration = fuvNanos;
+            event.lazy = lazy;
+            event.launch = launch;
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean licEnabled() {
+        return licType.isEnabled();
+    }
+
+    @Override
+    public Object beginLic() {
+        if (!licType.isEnabled()) {
+            return null;
+        }
+        SlowLicEvent event = new SlowLicEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitLic(Object started, int lic, int numPoints, boolean met) {
+        SlowLicEvent event = (SlowLicEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.lic = lic;
+            event.numPoints = numPoints;
+            event.met = met;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event of a LIC evaluation that took longer than the threshold, 1 ms unless configured
+ * otherwise, see JfrDecisionEvents.
+ */
+@Name("decide.SlowLic")
+@Label("Slow LIC")
+@Category("Decide")
+@Description("A Launch Interceptor Condition that took longer than the threshold to evaluate")
+@Threshold("1 ms")
+@StackTrace(false)
+class SlowLicEvent extends Event {
+
+    @Label("LIC")
+    int lic;
+
+    @Label("Points")
+    @Description("The number of points of the track")
+    int numPoints;
+
+    @Label("Met")
+    boolean met;
+}
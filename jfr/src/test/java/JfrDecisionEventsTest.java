@@ -0,0 +1,150 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JfrDecisionEventsTest {
+
+    private static AntiMissileSystem system() {
+        int numPoints = 200;
+        double[] xs = new double[numPoints];
+        double[] ys = new double[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            xs[i] = i;
+            ys[i] = i % 3;
+        }
+        Parameters parameters = new Parameters();
+        parameters.length1 = 1000;
+        parameters.radius1 = 1000;
+        parameters.qPts = 2;
+        parameters.qUads = 1;
+        parameters.nPTS = 3;
+        parameters.kPTS = 1;
+        parameters.aPTS = 1;
+        parameters.bPTS = 1;
+        parameters.cPTS = 1;
+        parameters.dPTS = 1;
+        parameters.ePTS = 1;
+        parameters.fPTS = 1;
+        parameters.gPTS = 1;
+        Connector[][] lcm = new Connector[15][15];
+        for (Connector[] row : lcm) {
+            java.util.Arrays.fill(row, Connector.NOTUSED);
+        }
+        boolean[] puv = new boolean[15];
+        puv[0] = true;
+        lcm[0][1] = Connector.ANDD;
+        return new AntiMissileSystem(numPoints, xs, ys, parameters, lcm, puv);
+    }
+
+    @Test
+    void testLoadedByDefault() {
+        // Contract: with this module on the class path the JFR events are the default, and no
+        // event is created while no recording enables them.
+        assertTrue(DecisionEvents.DEFAULT instanceof JfrDecisionEvents);
+        assertNull(DecisionEvents.DEFAULT.beginDecision());
+        assertNull(DecisionEvents.DEFAULT.beginLic());
+    }
+
+    @Test
+    void testRecordsEvents() throws Exception {
+        // Contract: in a recording that enables them, every decision is recorded with its track
+        // length, fingerprint, stage durations and outcome, and every LIC evaluation above the
+        // threshold as a slow LIC.
+        AntiMissileSystem system = system();
+        Configuration configuration = Configuration.compile(system.parameters, system.lcm, system.puv);
+        Path path = Files.createTempFile("decide", ".jfr");
+        path.toFile().deleteOnExit();
+        boolean eager;
+        try (Recording recording = new Recording()) {
+            recording.enable("decide.Decision");
+            recording.enable("decide.SlowLic").withThreshold(Duration.ZERO);
+            recording.start();
+            eager = system.decideEagerly();
+            system.setConfiguration(configuration);
+            boolean lazy = system.decideLazily();
+            assertEquals(eager, lazy);
+            recording.stop();
+            recording.dump(path);
+        }
+
+        List<RecordedEvent> decisions = new ArrayList<>();
+        List<RecordedEvent> lics = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(path)) {
+            String name = event.getEventType().getName();
+            if (name.equals("decide.Decision")) {
+                decisions.add(event);
+            } else if (name.equals("decide.SlowLic")) {
+                lics.add(event);
+            }
+        }
+
+        assertEquals(2, decisions.size());
+        for (RecordedEvent decision : decisions) {
+            assertEquals(200, decision.getInt("numPoints"));
+            assertEquals(configuration.fingerprint, decision.getLong("fingerprint"));
+            assertEquals(eager, decision.getBoolean("launch"));
+            assertTrue(decision.getLong("cmvDuration") > 0);
+        }
+        assertEquals(false, decisions.get(0).getBoolean("lazy"));
+        assertTrue(decisions.get(0).getLong("pumDuration") > 0);
+        assertEquals(true, decisions.get(1).getBoolean("lazy"));
+        assertEquals(0, decisions.get(1).getLong("pumDuration"));
+
+        // 15 LICs for the eager decision, at least LIC 0 for the lazy one
+        assertTrue(lics.size() >= 16, Integer.toString(lics.size()));
+        assertEquals(0, lics.get(0).getInt("lic"));
+        assertEquals(system.cmv[0], lics.get(0).getBoolean("met"));
+    }
+
+    @Test
+    void testFingerprintFollowsConfiguration() throws Exception {
+        // Contract: without a shared configuration the fingerprint of a decision is that of
+        // the current configuration, also after the parameters are recompiled or the system is
+        // reset to another configuration.
+        AntiMissileSystem system = system();
+        Path path = Files.createTempFile("decide", ".jfr");
+        path.toFile().deleteOnExit();
+        long[] expected = new long[4];
+        try (Recording recording = new Recording()) {
+            recording.enable("decide.Decision");
+            recording.start();
+            system.decideEagerly();
+            expected[0] = ConfigurationCache.fingerprint(system.parameters, system.lcm, system.puv);
+            system.decideLazily();
+            expected[1] = expected[0];
+            system.parameters.length1 = 1;
+            system.recompile();
+            system.decideEagerly();
+            expected[2] = ConfigurationCache.fingerprint(system.parameters, system.lcm, system.puv);
+            boolean[] puv = new boolean[15];
+            system.reset(system.parameters, system.lcm, puv);
+            system.decideEagerly();
+            expected[3] = ConfigurationCache.fingerprint(system.parameters, system.lcm, puv);
+            recording.stop();
+            recording.dump(path);
+        }
+
+        List<Long> fingerprints = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(path)) {
+            if (event.getEventType().getName().equals("decide.Decision")) {
+                fingerprints.add(event.getLong("fingerprint"));
+            }
+        }
+        assertEquals(4, fingerprints.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(expected[i], fingerprints.get(i).longValue());
+        }
+        assertTrue(expected[0] != expected[2] && expected[2] != expected[3]);
+    }
+}
@@ -0,0 +1,112 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * StridedKernels on the JDK Vector API. Each iteration loads a vector of first points and the
+ * vectors of the points gap (and gap + gap2) further on, evaluates the pairs or triples
+ * lane-wise and stops at the first vector with a lane that meets the condition, returning the
+ * index of its first such lane. The lanes use the same operations as Geometry, without fused
+ * multiply-adds, so the results are identical to ScalarStridedKernels, which also finishes
+ * the tail of the track.
+ *
+ * Loaded by StridedKernels.load() when this class is on the class path and the JVM runs with
+ * add-modules jdk.incubator.vector.
+ */
+public final class VectorStridedKernels implements StridedKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public int firstDistanceGreater(double[] xs, double[] ys, int numPoints, int gap, double lengthSquared) {
+        int bound = gap < 0 ? 0 : SPECIES.loopBound(Math.max(numPoints - gap, 0));
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Double> met = distanceSquared(xs, ys, i, gap).compare(VectorOperators.GT, lengthSquared);
+            if (met.anyTrue()) {
+                return i + met.firstTrue();
+            }
+        }
+        return ScalarStridedKernels.firstDistanceGreater(xs, ys, i, numPoints, gap, lengthSquared);
+    }
+
+    @Override
+    public int firstDistanceLess(double[] xs, double[] ys, int numPoints, int gap, double lengthSquared) {
+        int bound = gap < 0 ? 0 : SPECIES.loopBound(Math.max(numPoints - gap, 0));
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Double> met = distanceSquared(xs, ys, i, gap).compare(VectorOperators.LT, lengthSquared);
+            if (met.anyTrue()) {
+                return i + met.firstTrue();
+            }
+        }
+        return ScalarStridedKernels.firstDistanceLess(xs, ys, i, numPoints, gap, lengthSquared);
+    }
+
+    @Override
+    public int firstDecrease(double[] xs, int numPoints, int gap) {
+        int bound = gap < 0 ? 0 : SPECIES.loopBound(Math.max(numPoints - gap, 0));
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i + gap).sub(DoubleVector.fromArray(SPECIES, xs, i));
+            VectorMask<Double> met = dx.compare(VectorOperators.LT, 0.0);
+            if (met.anyTrue()) {
+                return i + met.firstTrue();
+            }
+        }
+        return ScalarStridedKernels.firstDecrease(xs, i, numPoints, gap);
+    }
+
+    @Override
+    public int firstAreaGreater(double[] xs, double[] ys, int numPoints, int gap1, int gap2, double doubledArea) {
+        int bound = gap1 < 0 || gap2 < 0 ? 0 : SPECIES.loopBound(Math.max(numPoints - gap1 - gap2, 0));
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Double> met = doubledArea(xs, ys, i, gap1, gap2).compare(VectorOperators.GT, doubledArea);
+            if (met.anyTrue()) {
+                return i + met.firstTrue();
+            }
+        }
+        return ScalarStridedKernels.firstAreaGreater(xs, ys, i, numPoints, gap1, gap2, doubledArea);
+    }
+
+    @Override
+    public int firstAreaLess(double[] xs, double[] ys, int numPoints, int gap1, int gap2, double doubledArea) {
+        int bound = gap1 < 0 || gap2 < 0 ? 0 : SPECIES.loopBound(Math.max(numPoints - gap1 - gap2, 0));
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Double> met = doubledArea(xs, ys, i, gap1, gap2).compare(VectorOperators.LT, doubledArea);
+            if (met.anyTrue()) {
+                return i + met.firstTrue();
+            }
+        }
+        return ScalarStridedKernels.firstAreaLess(xs, ys, i, numPoints, gap1, gap2, doubledArea);
+    }
+
+    /**
+     *
+     * @return Geometry.distanceSquared() of the pairs starting at i to i + SPECIES.length() - 1
+     */
+    private static DoubleVector distanceSquared(double[] xs, double[] ys, int i, int gap) {
+        DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i + gap).sub(DoubleVector.fromArray(SPECIES, xs, i));
+        DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i + gap).sub(DoubleVector.fromArray(SPECIES, ys, i));
+        return dx.mul(dx).add(dy.mul(dy));
+    }
+
+    /**
+     *
+     * @return Geometry.doubledArea() of the triples starting at i to i + SPECIES.length() - 1
+     */
+    private static DoubleVector doubledArea(double[] xs, double[] ys, int i, int gap1, int gap2) {
+        int i2 = i + gap1;
+        int i3 = i2 + gap2;
+        DoubleVector ax = DoubleVector.fromArray(SPECIES, xs, i);
+        DoubleVector ay = DoubleVector.fromArray(SPECIES, ys, i);
+        DoubleVector abx = DoubleVector.fromArray(SPECIES, xs, i2).sub(ax);
+        DoubleVector aby = DoubleVector.fromArray(SPECIES, ys, i2).sub(ay);
+        DoubleVector acx = DoubleVector.fromArray(SPECIES, xs, i3).sub(ax);
+        DoubleVector acy = DoubleVector.fromArray(SPECIES, ys, i3).sub(ay);
+        return abx.mul(acy).sub(acx.mul(aby)).abs();
+    }
+}
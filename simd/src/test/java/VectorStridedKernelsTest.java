@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VectorStridedKernelsTest {
+
+    @Test
+    void testLoadedByDefault() {
+        // Contract: with jdk.incubator.vector available the vector kernels are the default.
+        assertTrue(StridedKernels.DEFAULT instanceof VectorStridedKernels);
+    }
+
+    @Test
+    void testMatchesScalarKernels() {
+        // Contract: every kernel returns the same result as ScalarStridedKernels, for tracks
+        // shorter and longer than a vector and for every gap.
+        Random random = new Random(3);
+        StridedKernels vector = new VectorStridedKernels();
+        StridedKernels scalar = StridedKernels.SCALAR;
+        for (int run = 0; run < 20000; run++) {
+            int numPoints = random.nextInt(40);
+            double[] xs = new double[numPoints];
+            double[] ys = new double[numPoints];
+            for (int i = 0; i < numPoints; i++) {
+                // Mostly increasing x and short segments, so that the conditions are met late if at all
+                xs[i] = i + random.nextInt(50) * 0.02;
+                ys[i] = random.nextInt(7) - 3;
+            }
+            int gap1 = random.nextInt(6);
+            int gap2 = random.nextInt(6);
+            double threshold = random.nextInt(80) * 0.5;
+
+            assertEquals(scalar.firstDistanceGreater(xs, ys, numPoints, gap1, threshold),
+                    vector.firstDistanceGreater(xs, ys, numPoints, gap1, threshold));
+            assertEquals(scalar.firstDistanceLess(xs, ys, numPoints, gap1, threshold),
+                    vector.firstDistanceLess(xs, ys, numPoints, gap1, threshold));
+            assertEquals(scalar.firstDecrease(xs, numPoints, gap1),
+                    vector.firstDecrease(xs, numPoints, gap1));
+            assertEquals(scalar.firstAreaGreater(xs, ys, numPoints, gap1, gap2, threshold),
+                    vector.firstAreaGreater(xs, ys, numPoints, gap1, gap2, threshold));
+            assertEquals(scalar.firstAreaLess(xs, ys, numPoints, gap1, gap2, threshold),
+                    vector.firstAreaLess(xs, ys, numPoints, gap1, gap2, threshold));
+        }
+    }
+
+    @Test
+    void testCmvMatchesScalarKernels() {
+        // Contract: an AntiMissileSystem computes the same CMV with either kernels.
+        Random random = new Random(5);
+        for (int run = 0; run < 2000; run++) {
+            int numPoints = 2 + random.nextInt(100);
+            double[] xs = new double[numPoints];
+            double[] ys = new double[numPoints];
+            for (int i = 0; i < numPoints; i++) {
+                xs[i] = random.nextInt(7) - 3;
+                ys[i] = random.nextInt(7) - 3;
+            }
+            Parameters parameters = new Parameters();
+            parameters.length1 = random.nextInt(10);
+            parameters.length2 = random.nextInt(10);
+            parameters.area1 = random.nextInt(20) * 0.5;
+            parameters.area2 = random.nextInt(20) * 0.5;
+            parameters.kPTS = 1 + random.nextInt(4);
+            parameters.ePTS = 1 + random.nextInt(4);
+            parameters.fPTS = 1 + random.nextInt(4);
+            parameters.gPTS = 1 + random.nextInt(4);
+            parameters.nPTS = 3;
+            parameters.qPts = 2;
+            parameters.qUads = 1;
+
+            AntiMissileSystem vector = new AntiMissileSystem(numPoints, xs, ys, parameters, null, null);
+            vector.kernels = new VectorStridedKernels();
+            vector.populateCMV();
+            AntiMissileSystem scalar = new AntiMissileSystem(numPoints, xs, ys, parameters, null, null);
+            scalar.kernels = StridedKernels.SCALAR;
+            scalar.populateCMV();
+
+            assertArrayEquals(scalar.cmv, vector.cmv);
+        }
+    }
+}
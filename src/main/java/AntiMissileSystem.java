@@ -1,9 +1,7 @@
-import java.util.ArrayList;
-
-import static java.lang.Math.pow;
-import static java.lang.Math.sqrt;
-import static java.lang.Math.PI;
-import static java.lang.Math.abs;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 public class AntiMissileSystem {
 
@@ -12,8 +10,10 @@ public class AntiMissileSystem {
     // The number of planar data points. 2 <= NUMPOINTS <= 100
     public int numPoints;
 
-    // Array of planar data points.
-    public Point[] points;
+    // The planar data points, stored as one array per coordinate so that the
+    // LICs can walk them without dereferencing Point objects.
+    public double[] xs;
+    public double[] ys;
 
     // Struct holding parameters for Launch Interceptor Conditions (LIC’s).
     public Parameters parameters;
@@ -38,13 +38,51 @@ public class AntiMissileSystem {
     // signal should be generated.
     public boolean[] fuv = new boolean[15];
 
+    // Tracks with fewer points than this are evaluated sequentially by populateCMV(ForkJoinPool),
+    // below it the cost of forking outweighs the LICs themselves.
+    public int parallelThreshold = 4096;
+
+    // The scans of the pair and triple LICs, vectorized when the simd module is available.
+    public StridedKernels kernels = StridedKernels.DEFAULT;
+
+    // Scratch space of lic4(), the quadrant of every point and the number of points per
+    // quadrant in the current window. Reused between calls.
+    private byte[] quadrants = new byte[0];
+    private final int[] quadrantCounts = new int[4];
+
+    // Windows of at least this many points are evaluated by lic6() through the convex hulls of
+    // windowHulls instead of a scan of every point.
+    public int lic6HullThreshold = 64;
+    private final WindowHulls windowHulls = new WindowHulls();
+
+    // Records LIC and stage latencies and outcomes when set, null to record nothing.
+    public DecisionMetrics metrics;
+
+    // Reports decisions and slow LICs to a profiler, to Java Flight Recorder when available.
+    public DecisionEvents events = DecisionEvents.DEFAULT;
+
+    // Records the points that met each LIC when set, null to record nothing. lic0() to lic14()
+    // report the LICs that are met, lic() first forgets the previous witnesses of the LIC.
+    public LicWitnesses witnesses;
+
+    // Snapshot of the parameters, compiled when they are bound and again by recompile().
+    private CompiledParameters compiledParameters;
+
+    // The shared configuration set by setConfiguration(), null to compile on demand.
+    private Configuration configuration;
+
+    // fingerprint() of the configuration without a shared one, computed for the compiled
+    // parameters in fingerprinted, null until it is first reported.
+    private long fingerprint;
+    private CompiledParameters fingerprinted;
+
     /**
-     * Main method. Do not write anything here to make it easy to test.
-     * (We want to be able to set in and out stream outside static main.)
-     * @param args main args
+     * Main method. Delegates to DecideCommand.run() with the streams of the process, which is
+     * where the command line is implemented and tested, and exits with its status.
+     * @param args main args, see DecideCommand
      */
     public static void main(String args[]) {
-        //Todo: implement when standard input is provided
+        System.exit(DecideCommand.run(args, System.in, System.out, System.err));
     }
 
     /**
@@ -57,11 +95,89 @@ public class AntiMissileSystem {
      * @return instance of AntiMissileSystem
      */
     public AntiMissileSystem(int numPoints, Point[] points, Parameters parameters, Connector[][] lcm, boolean[] puv) {
+        this(numPoints, Point.xs(points), Point.ys(points), parameters, lcm, puv);
+    }
+
+    /**
+     *
+     * @param numPoints
+     * @param xs x coordinates of the data points, at least numPoints long
+     * @param ys y coordinates of the data points, at least numPoints long
+     * @param parameters
+     * @param lcm
+     * @param puv
+     * @return instance of AntiMissileSystem
+     */
+    public AntiMissileSystem(int numPoints, double[] xs, double[] ys, Parameters parameters, Connector[][] lcm, boolean[] puv) {
         this.numPoints = numPoints;
-        this.points = points;
+        this.xs = xs;
+        this.ys = ys;
         this.parameters = parameters;
         this.lcm = lcm;
         this.puv = puv;
+        compiledParameters = parameters != null ? new CompiledParameters(parameters) : null;
+    }
+
+    /**
+     *
+     * @return instance of AntiMissileSystem without a track or configuration, to be bound with
+     * reset() before use
+     */
+    public AntiMissileSystem() {
+        this(0, new double[0], new double[0], null, null, null);
+    }
+
+    /**
+     * Rebind to another track, keeping the configuration, and clear cmv, pum and fuv. Nothing
+     * is allocated, so one instance per thread can decide any number of tracks without
+     * producing garbage. The arrays are used as they are, not copied.
+     * @param numPoints
+     * @param xs x coordinates of the data points, at least numPoints long
+     * @param ys y coordinates of the data points, at least numPoints long
+     */
+    public void reset(int numPoints, double[] xs, double[] ys) {
+        this.numPoints = numPoints;
+        this.xs = xs;
+        this.ys = ys;
+        clear();
+    }
+
+    /**
+     * Rebind to another configuration, keeping the track, and clear cmv, pum and fuv. A
+     * configuration set with setConfiguration() is dropped, set the one of the new parameters,
+     * lcm and puv afterwards to keep decideLazily() from compiling a plan on every call.
+     * @param parameters
+     * @param lcm
+     * @param puv
+     */
+    public void reset(Parameters parameters, Connector[][] lcm, boolean[] puv) {
+        this.parameters = parameters;
+        this.lcm = lcm;
+        this.puv = puv;
+        configuration = null;
+        compiledParameters = new CompiledParameters(parameters);
+        fingerprinted = null;
+        clear();
+    }
+
+    private void clear() {
+        Arrays.fill(cmv, false);
+        for (boolean[] row : pum) {
+            Arrays.fill(row, false);
+        }
+        Arrays.fill(fuv, false);
+        if (witnesses != null) {
+            witnesses.clear();
+        }
+    }
+
+    /**
+     * Replace the data points, numPoints is left unchanged.
+     * @param points
+     */
+    public void setPoints(Point[] points) {
+        this.xs = Point.xs(points);
+        this.ys = Point.ys(points);
     }
 
     /**
@@ -77,7 +193,97 @@ public class AntiMissileSystem {
         return true;
     }
 
+    /**
+     * Run populateCMV(), populatePUM(), generateFUV() and decide(), reported as one decision
+     * to events.
+     * @return whether an interceptor should be launched
+     */
+    public boolean decideEagerly() {
+        DecisionEvents reporter = events;
+        Object event = reporter.beginDecision();
+        if (event == null) {
+            populateCMV();
+            populatePUM();
+            generateFUV();
+            return decide();
+        }
+        long start = System.nanoTime();
+        populateCMV();
+        long cmvDone = System.nanoTime();
+        populatePUM();
+        long pumDone = System.nanoTime();
+        generateFUV();
+        long fuvDone = System.nanoTime();
+        boolean launch = decide();
+        reporter.commitDecision(event, numPoints, fingerprint(), cmvDone - start, pumDone - cmvDone,
+                fuvDone - pumDone, false, launch);
+        return launch;
+    }
+
+    /**
+     * Decide without running populateCMV(), populatePUM() and generateFUV() first. The LICs
+     * are evaluated on demand, cheapest first, until the outcome is known. cmv, pum and fuv are
+     * left untouched.
+     * @return whether an interceptor should be launched, the same as the eager pipeline
+     */
+    public boolean decideLazily() {
+        DecisionEvents reporter = events;
+        Object event = reporter.beginDecision();
+        long start = event != null ? System.nanoTime() : 0;
+        Configuration shared = configuration;
+        DecisionPlan plan = shared != null ? shared.plan : DecisionPlan.compile(lcm, puv);
+        boolean launch = plan.decideLazily(this);
+        if (event != null) {
+            reporter.commitDecision(event, numPoints, fingerprint(), System.nanoTime() - start, 0, 0, true, launch);
+        }
+        return launch;
+    }
+
+    /**
+     *
+     * @return ConfigurationCache.fingerprint() of the configuration, 0 if it is incomplete.
+     * Without a shared configuration it is computed again only when the parameters are
+     * compiled again, changes to lcm or puv in place are picked up after reset() or recompile()
+     */
+    private long fingerprint() {
+        Configuration shared = configuration;
+        if (shared != null) {
+            return shared.fingerprint;
+        }
+        if (parameters == null || lcm == null || puv == null) {
+            return 0;
+        }
+        CompiledParameters compiled = compiledParameters;
+        if (fingerprinted != compiled) {
+            fingerprint = ConfigurationCache.fingerprint(parameters, lcm, puv);
+            fingerprinted = compiled;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Use a compiled configuration, e.g. one shared through a ConfigurationCache, instead of
+     * compiling the parameters, LCM and PUV of this instance.
+     * @param configuration must have been compiled from the current parameters, lcm and puv
+     */
+    public void setConfiguration(Configuration configuration) {
+        this.configuration = configuration;
+        fingerprinted = null;
+        setCompiledParameters(configuration.parameters);
+    }
+
     public void populateCMV() {
+        DecisionMetrics recorder = metrics;
+        if (recorder != null || witnesses != null || events.licEnabled()) {
+            long start = recorder != null ? System.nanoTime() : 0;
+            for (int i = 0; i < 15; i++) {
+                cmv[i] = lic(i);
+            }
+            if (recorder != null) {
+                recorder.recordStage(DecisionMetrics.POPULATE_CMV, System.nanoTime() - start);
+            }
+            return;
+        }
         cmv[0] = lic0();
         cmv[1] = lic1();
         cmv[2] = lic2();
@@ -95,11 +301,96 @@ public class AntiMissileSystem {
         cmv[14] = lic14();
     }
 
+    /**
+     * Set the global cmv like populateCMV(), evaluating the LICs concurrently in the given
+     * pool when the track has at least parallelThreshold points.
+     * @param pool
+     */
+    public void populateCMV(ForkJoinPool pool) {
+        if (numPoints < parallelThreshold) {
+            populateCMV();
+            return;
+        }
+        DecisionMetrics recorder = metrics;
+        long start = recorder != null ? System.nanoTime() : 0;
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[15];
+                for (int i = 0; i < 15; i++) {
+                    final int index = i;
+                    tasks[i] = new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            cmv[index] = lic(index);
+                        }
+                    };
+                }
+                invokeAll(tasks);
+            }
+        });
+        if (recorder != null) {
+            recorder.recordStage(DecisionMetrics.POPULATE_CMV, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     *
+     * @param index
+     * @return the result of LIC number index, recorded in metrics and witnesses if set and
+     * reported to events
+     */
+    public boolean lic(int index) {
+        DecisionMetrics recorder = metrics;
+        DecisionEvents reporter = events;
+        Object event = reporter.beginLic();
+        if (recorder == null && event == null) {
+            return evaluateLic(index);
+        }
+        // The events time themselves, only the metrics need the clock
+        long start = recorder != null ? System.nanoTime() : 0;
+        boolean met = evaluateLic(index);
+        if (recorder != null) {
+            recorder.recordLic(index, met, System.nanoTime() - start);
+        }
+        if (event != null) {
+            reporter.commitLic(event, index, numPoints, met);
+        }
+        return met;
+    }
+
+    private boolean evaluateLic(int index) {
+        LicWitnesses recorder = witnesses;
+        if (recorder != null) {
+            recorder.clear(index);
+        }
+        switch (index) {
+            case 0: return lic0();
+            case 1: return lic1();
+            case 2: return lic2();
+            case 3: return lic3();
+            case 4: return lic4();
+            case 5: return lic5();
+            case 6: return lic6();
+            case 7: return lic7();
+            case 8: return lic8();
+            case 9: return lic9();
+            case 10: return lic10();
+            case 11: return lic11();
+            case 12: return lic12();
+            case 13: return lic13();
+            case 14: return lic14();
+            default: throw new IllegalArgumentException("There is no LIC " + index);
+        }
+    }
+
     /**
      *
      * Set the global pum matrix according to specification
      */
     public void populatePUM() {
+        DecisionMetrics recorder = metrics;
+        long start = recorder != null ? System.nanoTime() : 0;
         for (int i = 0; i < 15; i++){
             for (int j = 0; j < 15; j++){
                 if (lcm[i][j] == Connector.ANDD){
@@ -111,13 +402,54 @@ public class AntiMissileSystem {
                 }
             }
         }
+        if (recorder != null) {
+            recorder.recordStage(DecisionMetrics.POPULATE_PUM, System.nanoTime() - start);
+        }
     }
 
+    /**
+     *
+     * Set every entry of the global fuv from the puv and pum, so that it is correct also when
+     * the instance is reused
+     */
     public void generateFUV() {
+        DecisionMetrics recorder = metrics;
+        long start = recorder != null ? System.nanoTime() : 0;
         for (int i = 0; i < 15; i++) {
-            if (!puv[i] || areAllTrue(pum[i]))
-                fuv[i] = true;
+            fuv[i] = !puv[i] || areAllTrue(pum[i]);
         }
+        if (recorder != null) {
+            recorder.recordStage(DecisionMetrics.GENERATE_FUV, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     *
+     * @return the parameters compiled with their derived constants when they were bound or last
+     * recompiled
+     */
+    public CompiledParameters compiledParameters() {
+        return compiledParameters;
+    }
+
+    /**
+     * Compile the parameters again after they have been modified in place. The LICs use the
+     * parameters compiled by the constructor, reset(), setConfiguration() or this method, so
+     * changes to the fields of parameters are ignored until then. A configuration set with
+     * setConfiguration() is dropped.
+     */
+    public void recompile() {
+        configuration = null;
+        compiledParameters = new CompiledParameters(parameters);
+        fingerprinted = null;
+    }
+
+    /**
+     * Use parameters that have already been compiled, e.g. shared between the tracks of a batch.
+     * @param compiled must match parameters
+     */
+    public void setCompiledParameters(CompiledParameters compiled) {
+        compiledParameters = compiled;
     }
 
     /**
@@ -126,20 +458,16 @@ public class AntiMissileSystem {
      * else false is returned
      */
     public boolean lic0() {
-        Point a, b;
-        for (int i = 0; i < this.points.length - 1; i++) {
-            a = this.points[i];
-            b = this.points[i+1];
-
-            // Calculate the distance between point a and b
-            double distance = sqrt(pow(b.x - a.x, 2) + pow(b.y - a.y, 2));
-
-            // Check if the distance is greater than length1 in the parameters
-            if (distance > parameters.length1) {
-                return true;
-            }
+        // Check if two consecutive points are further apart than length1 in the parameters
+        CompiledParameters p = compiledParameters;
+        int i = kernels.firstDistanceGreater(xs, ys, numPoints, 1, p.length1Squared);
+        if (i < 0) {
+            return false;
         }
-        return false;
+        if (witnesses != null) {
+            witnesses.distance(0, 0, xs, ys, i, i + 1, p.length1);
+        }
+        return true;
     }
 
     /**
@@ -148,32 +476,18 @@ public class AntiMissileSystem {
      * defined in the parameters, otherwise false is returned
      */
     public boolean lic1() {
-        if (parameters.radius1 < 0) {
+        CompiledParameters p = compiledParameters;
+        if (!p.possible(1)) {
             return false;
         }
 
-        Point a, b, c;
-        for (int i = 0; i < this.points.length - 2; i++) {
-            a = this.points[i];
-            b = this.points[i+1];
-            c = this.points[i+2];
-
-            // Length between point a and b
-            double lengthAB = sqrt(pow(a.x - b.x, 2) + pow(a.y - b.y, 2));
-            double lengthAC = sqrt(pow(a.x - c.x, 2) + pow(a.y - c.y, 2));
-            double lengthBC = sqrt(pow(b.x - c.x, 2) + pow(b.y - c.y, 2));
-
-            // Calculating the radius of the circumcircle
-            double multipliedLengths = lengthAB * lengthAC * lengthBC;
-            double multipliedLengthDiffs =
-                    (lengthAB + lengthAC + lengthBC) *
-                    (lengthAB + lengthAC - lengthBC) *
-                    (lengthAC + lengthBC - lengthAB) *
-                    (lengthBC + lengthAB - lengthAC);
-            double radius = multipliedLengths / sqrt(multipliedLengthDiffs);
-
-            // Check if points b or c is inside or on the radius radius1 away from a
-            if (radius > parameters.radius1) {
+        double radius1 = p.radius1Squared;
+        for (int i = 0; i < numPoints - 2; i++) {
+            // Check if the smallest circle enclosing the points is larger than radius1
+            if (!Geometry.inCircle(xs[i], ys[i], xs[i+1], ys[i+1], xs[i+2], ys[i+2], radius1)) {
+                if (witnesses != null) {
+                    witnesses.radius(1, 0, xs, ys, i, i + 1, i + 2, p.radius1);
+                }
                 return true;
             }
         }
@@ -185,32 +499,19 @@ public class AntiMissileSystem {
      * @return whether three consecutive points form an angle greater than PI+epsilon or less than PI-epsilon
      */
     public boolean lic2() {
+        CompiledParameters p = compiledParameters;
+        double cosLimit = p.cosAngleLimit;
+
         //Iterate over all sets of three consecutive points
         for (int index = 0; index < numPoints-2; index++) {
-            Point point1 = points[index];
-            Point point2 = points[index+1];
-            Point point3 = points[index+2];
-
-            // Calculate the two vectors using point 2 as vertex
-            Point vector1 = new Point(point1.x - point2.x, point1.y - point2.y);
-            Point vector2 = new Point(point3.x - point2.x, point3.y - point2.y);
-
-            double dotProduct = vector1.x*vector2.x + vector1.y*vector2.y;
-            double vector1Len = sqrt(pow(vector1.x,2) + pow(vector1.y,2));
-            double vector2Len = sqrt(pow(vector2.x,2) + pow(vector2.y,2));
-
-            // If any two points coincide then move on
-            if(vector1Len == 0 || vector2Len == 0) {
-                continue;
-            }
-            // Obtain the angle through the definition of dot product in euclidean space
-            double angle = Math.acos(dotProduct/(vector1Len*vector2Len));
-
-            // Check if the angle is less than PI - epsilon. Note that since we
-            // use the dot product to calculate the angle we'll always get the smaller
+            // Check if the angle with point index+1 as vertex is less than PI - epsilon. Note
+            // that since we use the dot product to compare the angle we'll always get the smaller
             // angle between the two vectors and thus we do not need to check if the angle is
-            // greater than PI + epsilon.
-            if(angle < (PI - parameters.epsilon)) {
+            // greater than PI + epsilon. Points that coincide with the vertex form no angle.
+            if(Geometry.angleLess(xs[index], ys[index], xs[index+1], ys[index+1], xs[index+2], ys[index+2], cosLimit)) {
+                if (witnesses != null) {
+                    witnesses.angle(2, xs, ys, index, index + 1, index + 2, Math.PI - p.epsilon);
+                }
                 return true;
             }
         }
@@ -224,27 +525,16 @@ public class AntiMissileSystem {
      * with area greater than parameters.area1
      */
     public boolean lic3() {
-        //Iterate over all sets of three consecutive points
-        for (int index = 0; index < numPoints-2; index++) {
-            Point point1 = points[index];
-            Point point2 = points[index+1];
-            Point point3 = points[index+2];
-
-            // Calculate the sides of the triangle
-            double length1 = sqrt(pow(point1.x-point2.x,2)+pow(point1.y-point2.y,2));
-            double length2 = sqrt(pow(point1.x-point3.x,2)+pow(point1.y-point3.y,2));
-            double length3 = sqrt(pow(point2.x-point3.x,2)+pow(point2.y-point3.y,2));
-
-            // Calculate the area of the triangle using Heron's formula
-            double tmp = (length1+length2+length3)/2;
-            double area = sqrt(tmp*(tmp-length1)*(tmp-length2)*(tmp-length3));
-
-            if(area > parameters.area1) {
-                return true;
-            }
+        // Compare twice the area of every triangle of three consecutive points
+        CompiledParameters p = compiledParameters;
+        int i = kernels.firstAreaGreater(xs, ys, numPoints, 1, 1, p.doubledArea1);
+        if (i < 0) {
+            return false;
         }
-        // No points where found that satisfied the criteria
-        return false;
+        if (witnesses != null) {
+            witnesses.area(3, 0, xs, ys, i, i + 1, i + 2, p.area1);
+        }
+        return true;
     }
 
     /**
@@ -255,57 +545,35 @@ public class AntiMissileSystem {
      */
     public boolean lic4() {
         // check the boundaries
-        if (parameters.qPts > numPoints || parameters.qPts < 2) {
+        CompiledParameters p = compiledParameters;
+        if (!p.possible(4) || p.qPts > numPoints) {
             return false;
         }
 
-        // check the boundaries
-        if (parameters.qUads > 3 || parameters.qUads < 1) {
-            return false;
+        int qPts = p.qPts;
+        if (quadrants.length < numPoints) {
+            quadrants = new byte[numPoints];
         }
+        Arrays.fill(quadrantCounts, 0);
+        int visited = 0;
 
-        //Iterate over all sets of qPts consecutive points
-        for (int i = 0; i <= numPoints-parameters.qPts; i++) {
-            ArrayList<Point> consecPoints = new ArrayList<Point>();
-            //Iterate qPts steps to gather the set
-            for (int j = i; j < parameters.qPts+i; j++) {
-                consecPoints.add(points[j]);
+        //Slide a window of qPts consecutive points over the track, classifying each point once
+        for (int j = 0; j < numPoints; j++) {
+            byte quadrant = (byte) Geometry.quadrant(xs[j], ys[j]);
+            quadrants[j] = quadrant;
+            if (quadrantCounts[quadrant]++ == 0) {
+                visited++;
             }
-
-            //Keep track of visited quadrants
-            boolean[] diffQuads = new boolean[4];
-
-            for (Point p: consecPoints) {
-                if (p.x >= 0){
-                    if(p.y >= 0){
-                        diffQuads[0] = true;
-                    }
-                    else if (p.x == 0 && p.y < 0){
-                        diffQuads[2] = true;
-                    }
-                    else {
-                        diffQuads[3] = true;
-                    }
-                }
-                else {
-                    if (p.y >= 0) {
-                        diffQuads[1] = true;
-                    }
-                    else {
-                        diffQuads[2] = true;
-                    }
-                }
+            if (j >= qPts && --quadrantCounts[quadrants[j - qPts]] == 0) {
+                visited--;
             }
 
             //Did the set lie in more than qUads quadrants?
-            int trueCount = 0;
-            for (int k = 0; k < diffQuads.length; k++) {
-                if (diffQuads[k]) {
-                    trueCount++;
-                }
-                if (trueCount > parameters.qUads) {
-                    return true;
+            if (j >= qPts - 1 && visited > p.qUads) {
+                if (witnesses != null) {
+                    witnesses.quadrants(j - qPts + 1, j, visited, p.qUads);
                 }
+                return true;
             }
         }
         return false;
@@ -317,16 +585,14 @@ public class AntiMissileSystem {
      * data points where X[j] - X[i] < 0. (where i = j-1)
      */
     public boolean lic5() {
-        Point i, j;
-        for (int index = 0; index < this.points.length - 1; index++) {
-            i = this.points[index];
-            j = this.points[index+1];
-
-            if ((j.x - i.x) < 0){
-                return true;
-            }
+        int i = kernels.firstDecrease(xs, numPoints, 1);
+        if (i < 0) {
+            return false;
         }
-        return false;
+        if (witnesses != null) {
+            witnesses.decrease(5, xs, i, i + 1);
+        }
+        return true;
     }
 
     /**
@@ -341,42 +607,65 @@ public class AntiMissileSystem {
         if (numPoints < 3) {
             return false;
         }
-        for(int index = 0; index < numPoints - parameters.nPTS + 1; index++) {
-            Point[] consecutivePoints = new Point[parameters.nPTS];
-
-            for(int p = 0; p < parameters.nPTS; p++){
-                consecutivePoints[p] = this.points[index + p];
+        CompiledParameters p = compiledParameters;
+        double dist = p.distSquared;
+        boolean useHulls = p.nPTS >= lic6HullThreshold;
+        if (useHulls) {
+            windowHulls.build(xs, ys, numPoints, p.nPTS);
+        }
+        for(int index = 0; index < numPoints - p.nPTS + 1; index++) {
+            int last = index + p.nPTS - 1;
+            int farther = useHulls ? fartherInHulls(index, last, dist) : fartherInWindow(index, last, dist);
+            if (farther >= 0) {
+                if (witnesses != null) {
+                    witnesses.window(xs, ys, index, last, farther, p.dist);
+                }
+                return true;
             }
+        }
+        return false;
+    }
 
-            Point first = consecutivePoints[0];
-            Point last = consecutivePoints[parameters.nPTS-1];
-
-            if (first.x == last.x && first.y == last.y){
-                for (int c = 0; c < parameters.nPTS - 1; c++) {
-                    Point point = consecutivePoints[c];
-
-                    double distance = sqrt(pow(point.y - first.y, 2) + pow(point.x - first.x, 2));
-                    if (distance > parameters.dist) {
-                        return true;
-                    }
+    /**
+     *
+     * @return a point of the window from first to last that lies further than the distance
+     * from the line through first and last, or from first if they coincide, -1 if there is none
+     */
+    private int fartherInWindow(int first, int last, double distanceSquared) {
+        double firstX = xs[first], firstY = ys[first];
+        double lastX = xs[last], lastY = ys[last];
+
+        if (firstX == lastX && firstY == lastY){
+            for (int c = first; c < last; c++) {
+                double distance = Geometry.distanceSquared(firstX, firstY, xs[c], ys[c]);
+                if (distance > distanceSquared) {
+                    return c;
                 }
-            } else {
-                for (int c = 1; c < parameters.nPTS - 1; c++) {
-                    Point point = consecutivePoints[c];
-
-                    double numinator = abs((last.y - first.y) * point.x - (last.x - first.x) * point.y + last.x * first.y - last.y * first.x);
-                    double denuminator = sqrt(pow(last.y - first.y, 2) + pow(last.x - first.x, 2));
-
-                    double distance = numinator / denuminator;
-
-                    if (distance > parameters.dist) {
-                        return true;
-                    }
+            }
+        } else {
+            for (int c = first + 1; c < last; c++) {
+                if (Geometry.fartherFromLine(xs[c], ys[c], firstX, firstY, lastX, lastY, distanceSquared)) {
+                    return c;
                 }
             }
         }
-        return false;
+        return -1;
+    }
+
+    /**
+     *
+     * @return like fartherInWindow(), through the convex hulls of windowHulls
+     */
+    private int fartherInHulls(int first, int last, double distanceSquared) {
+        double firstX = xs[first], firstY = ys[first];
+        double lastX = xs[last], lastY = ys[last];
+
+        if (firstX == lastX && firstY == lastY){
+            return windowHulls.fartherFromPoint(first, last - 1, firstX, firstY, distanceSquared);
+        }
+        return windowHulls.fartherFromLine(first + 1, last - 1, firstX, firstY, lastX, lastY, distanceSquared);
     }
+
     /**
      *
      * @return true iff there exists at least one set of two data points
@@ -388,18 +677,15 @@ public class AntiMissileSystem {
             return false;
         }
 
-        for (int index = 0; index < numPoints - 1 - parameters.kPTS; index++) {
-            Point point1 = points[index];
-            Point point2 = points[index + 1 + parameters.kPTS];
-
-            // Calculate the distance between the two points
-            double distance = sqrt(pow(point2.x - point1.x, 2) + pow(point2.y - point1.y, 2));
-
-            if(distance > parameters.length1) {
-                return true;
-            }
+        CompiledParameters p = compiledParameters;
+        int i = kernels.firstDistanceGreater(xs, ys, numPoints, p.kGap, p.length1Squared);
+        if (i < 0) {
+            return false;
         }
-        return false;
+        if (witnesses != null) {
+            witnesses.distance(7, 0, xs, ys, i, i + p.kGap, p.length1);
+        }
+        return true;
     }
 
 
@@ -414,29 +700,29 @@ public class AntiMissileSystem {
      */
     public boolean lic8() {
         // Assure no boundaries are broken
-        if (numPoints < 5 || parameters.aPTS < 1 || parameters.bPTS < 1) {
+        CompiledParameters p = compiledParameters;
+        if (numPoints < 5 || !p.possible(8)) {
             return false;
         }
 
-        if (parameters.aPTS + parameters.bPTS > numPoints - 3) {
-            return false;
-        }
-
-        if (parameters.radius1 < 0) {
+        if (p.aPTS + p.bPTS > numPoints - 3) {
             return false;
         }
 
         boolean partOfCircle;
+        double radius1 = p.radius1Squared;
 
         //Iterate over all sets of three consecutive points separated by A_PTS and B_PTS points
-        for (int i = 0; i < numPoints-2-parameters.aPTS-parameters.bPTS; i++) {
-            Point point1 = points[i];
-            Point point2 = points[i + 1 + parameters.aPTS];
-            Point point3 = points[i + 2 + parameters.aPTS + parameters.bPTS];
+        for (int i = 0; i < numPoints-p.aGap-p.bGap; i++) {
+            int i2 = i + p.aGap;
+            int i3 = i2 + p.bGap;
 
-            partOfCircle = inCircle(point1, point2, point3, parameters.radius1);
+            partOfCircle = Geometry.inCircle(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3], radius1);
 
             if (!partOfCircle) {
+                if (witnesses != null) {
+                    witnesses.radius(8, 0, xs, ys, i, i2, i3, p.radius1);
+                }
                 return true;
             }
         }
@@ -455,32 +741,25 @@ public class AntiMissileSystem {
             return false;
         }
 
+        CompiledParameters p = compiledParameters;
+        double cosLimit = p.cosAngleLimit;
+
+        int cGap = p.cGap;
+        int dGap = p.dGap;
+
         //Iterate over all sets of three consecutive points separated by C_PTS and D_PTS points
-        for (int index = 0; index < numPoints-2-parameters.cPTS-parameters.dPTS; index++) {
-            Point point1 = points[index];
-            Point point2 = points[index+1+parameters.cPTS];
-            Point point3 = points[index+2+parameters.cPTS+parameters.dPTS];
-
-            // Calculate the two vectors using point 2 as vertex
-            Point vector1 = new Point(point1.x - point2.x, point1.y - point2.y);
-            Point vector2 = new Point(point3.x - point2.x, point3.y - point2.y);
-
-            double dotProduct = vector1.x*vector2.x + vector1.y*vector2.y;
-            double vector1Len = sqrt(pow(vector1.x,2) + pow(vector1.y,2));
-            double vector2Len = sqrt(pow(vector2.x,2) + pow(vector2.y,2));
-
-            // If any two points coincide then move on
-            if(vector1Len == 0 || vector2Len == 0) {
-                continue;
-            }
-            // Obtain the angle through the definition of dot product in euclidean space
-            double angle = Math.acos(dotProduct/(vector1Len*vector2Len));
+        for (int index = 0; index < numPoints-cGap-dGap; index++) {
+            int index2 = index+cGap;
+            int index3 = index2+dGap;
 
-            // Check if the angle is less than PI - epsilon. Note that since we
-            // use the dot product to calculate the angle we'll always get the smaller
+            // Check if the angle with point index2 as vertex is less than PI - epsilon. Note
+            // that since we use the dot product to compare the angle we'll always get the smaller
             // angle between the two vectors and thus we do not need to check if the angle is
-            // greater than PI + epsilon.
-            if(angle < (PI - parameters.epsilon)) {
+            // greater than PI + epsilon. Points that coincide with the vertex form no angle.
+            if(Geometry.angleLess(xs[index], ys[index], xs[index2], ys[index2], xs[index3], ys[index3], cosLimit)) {
+                if (witnesses != null) {
+                    witnesses.angle(9, xs, ys, index, index2, index3, Math.PI - p.epsilon);
+                }
                 return true;
             }
         }
@@ -500,27 +779,16 @@ public class AntiMissileSystem {
             return false;
         }
 
-        //Iterate over all sets of three consecutive points separated by E_PTS and F_PTS points
-        for (int index = 0; index < numPoints-2-parameters.ePTS-parameters.fPTS; index++) {
-            Point point1 = points[index];
-            Point point2 = points[index+1+parameters.ePTS];
-            Point point3 = points[index+2+parameters.ePTS+parameters.fPTS];
-
-            // Calculate the sides of the triangle
-            double length1 = sqrt(pow(point1.x-point2.x,2)+pow(point1.y-point2.y,2));
-            double length2 = sqrt(pow(point1.x-point3.x,2)+pow(point1.y-point3.y,2));
-            double length3 = sqrt(pow(point2.x-point3.x,2)+pow(point2.y-point3.y,2));
-
-            // Calculate the area of the triangle using Heron's formula
-            double tmp = (length1+length2+length3)/2;
-            double area = sqrt(tmp*(tmp-length1)*(tmp-length2)*(tmp-length3));
-
-            if(area > parameters.area1) {
-                return true;
-            }
+        //Compare twice the area of all sets of three points separated by E_PTS and F_PTS points
+        CompiledParameters p = compiledParameters;
+        int i = kernels.firstAreaGreater(xs, ys, numPoints, p.eGap, p.fGap, p.doubledArea1);
+        if (i < 0) {
+            return false;
         }
-        // No points where found that satisfied the criteria
-        return false;
+        if (witnesses != null) {
+            witnesses.area(10, 0, xs, ys, i, i + p.eGap, i + p.eGap + p.fGap, p.area1);
+        }
+        return true;
     }
 
     /**
@@ -534,15 +802,15 @@ public class AntiMissileSystem {
             return false;
         }
 
-        for(int index = 0; index < numPoints-1-parameters.gPTS; index++) {
-            Point point1 = points[index];
-            Point point2 = points[index+1+parameters.gPTS];
-
-            if(point2.x - point1.x < 0.0) {
-                return true;
-            }
+        int gap = compiledParameters.gGap;
+        int i = kernels.firstDecrease(xs, numPoints, gap);
+        if (i < 0) {
+            return false;
         }
-        return false;
+        if (witnesses != null) {
+            witnesses.decrease(11, xs, i, i + gap);
+        }
+        return true;
     }
 
     /**
@@ -558,25 +826,20 @@ public class AntiMissileSystem {
             return false;
         }
 
-        boolean foundLengthGreater = false;
-        boolean foundLengthShorter = false;
-
-        for(int index = 0; index < numPoints-1-parameters.kPTS; index++) {
-            Point point1 = points[index];
-            Point point2 = points[index+1+parameters.kPTS];
-
-            // Calculate the distance between the two points
-            double distance = sqrt(pow(point2.x - point1.x, 2) + pow(point2.y - point1.y, 2));
-
-            if(distance > parameters.length1) {
-                foundLengthGreater = true;
-            }
-
-            if(distance < parameters.length2) {
-                foundLengthShorter = true;
-            }
+        CompiledParameters p = compiledParameters;
+        int further = kernels.firstDistanceGreater(xs, ys, numPoints, p.kGap, p.length1Squared);
+        if (further < 0) {
+            return false;
+        }
+        int closer = kernels.firstDistanceLess(xs, ys, numPoints, p.kGap, p.length2Squared);
+        if (closer < 0) {
+            return false;
         }
-        return (foundLengthGreater && foundLengthShorter);
+        if (witnesses != null) {
+            witnesses.distance(12, 0, xs, ys, further, further + p.kGap, p.length1);
+            witnesses.distance(12, 1, xs, ys, closer, closer + p.kGap, p.length2);
+        }
+        return true;
     }
 
     /**
@@ -591,15 +854,24 @@ public class AntiMissileSystem {
      * Both parts must be true for the LIC to be true. The condition is not met when NUMPOINTS < 5. 0 ≤ RADIUS2.
      */
     public boolean lic13() {
-        if(parameters.radius2 <= 0 || numPoints < 5) {
+        CompiledParameters p = compiledParameters;
+        if(!p.possible(13) || numPoints < 5) {
             return false;
         }
-        for (int i = 0; i < (numPoints - parameters.aPTS - parameters.bPTS - 2); i++) {
-            int ii = i + parameters.aPTS + 1;
-            int iii = ii + parameters.bPTS + 1;
-
-            if (!inCircle(points[i], points[ii], points[iii], parameters.radius1) && inCircle(points[i], points[ii], points[iii], parameters.radius2))
+        double radius1 = p.radius1Squared;
+        double radius2 = p.radius2Squared;
+        for (int i = 0; i < (numPoints - p.aGap - p.bGap); i++) {
+            int ii = i + p.aGap;
+            int iii = ii + p.bGap;
+
+            if (!Geometry.inCircle(xs[i], ys[i], xs[ii], ys[ii], xs[iii], ys[iii], radius1)
+                    && Geometry.inCircle(xs[i], ys[i], xs[ii], ys[ii], xs[iii], ys[iii], radius2)) {
+                if (witnesses != null) {
+                    witnesses.radius(13, 0, xs, ys, i, ii, iii, p.radius1);
+                    witnesses.radius(13, 1, xs, ys, i, ii, iii, p.radius2);
+                }
                 return true;
+            }
         }
         return false;
     }
@@ -622,37 +894,22 @@ public class AntiMissileSystem {
             return false;
         }
 
-        boolean foundAreaGreater = false;
-        boolean foundAreaLess = false;
-
-        //Iterate over all sets of three consecutive points separated by E_PTS and F_PTS points
-        for (int i = 0; i < numPoints-2-parameters.ePTS-parameters.fPTS; i++) {
-            Point a = points[i];
-            Point b = points[i+1+parameters.ePTS];
-            Point c = points[i+2+parameters.ePTS+parameters.fPTS];
-
-            // Calculate the sides of the triangle
-            double lengthAB = sqrt(pow(a.x - b.x, 2) + pow(a.y - b.y, 2));
-            double lengthAC = sqrt(pow(a.x - c.x, 2) + pow(a.y - c.y, 2));
-            double lengthBC = sqrt(pow(b.x - c.x, 2) + pow(b.y - c.y,2));
-
-            // Calculate the area of the triangle using Heron's formula
-            double tmp = (lengthAB + lengthAC + lengthBC) / 2;
-            double area = sqrt(tmp*(tmp - lengthAB) * (tmp - lengthAC) * (tmp - lengthBC));
-
-            if(area > parameters.area1) {
-                foundAreaGreater = true;
-            }
-
-            if(area < parameters.area2) {
-                foundAreaLess = true;
-            }
-
-            if (foundAreaGreater && foundAreaLess) {
-                return true;
-            }
+        //Compare twice the area of all sets of three points separated by E_PTS and F_PTS points
+        CompiledParameters p = compiledParameters;
+        int larger = kernels.firstAreaGreater(xs, ys, numPoints, p.eGap, p.fGap, p.doubledArea1);
+        if (larger < 0) {
+            return false;
         }
-        return false;
+        int smaller = kernels.firstAreaLess(xs, ys, numPoints, p.eGap, p.fGap, p.doubledArea2);
+        if (smaller < 0) {
+            return false;
+        }
+        if (witnesses != null) {
+            int gap = p.eGap + p.fGap;
+            witnesses.area(14, 0, xs, ys, larger, larger + p.eGap, larger + gap, p.area1);
+            witnesses.area(14, 1, xs, ys, smaller, smaller + p.eGap, smaller + gap, p.area2);
+        }
+        return true;
     }
 
     /**
@@ -663,33 +920,7 @@ public class AntiMissileSystem {
      * @return true if all three points can be contained in a circle.
      */
     boolean inCircle(Point a, Point b, Point c, double radius) {
-        // Length between point a and b
-        double lengthAB = sqrt(pow(a.x - b.x, 2) + pow(a.y - b.y, 2));
-        double lengthAC = sqrt(pow(a.x - c.x, 2) + pow(a.y - c.y, 2));
-        double lengthBC = sqrt(pow(b.x - c.x, 2) + pow(b.y - c.y, 2));
-
-        // If all points are identical
-        if (lengthAB == 0 && lengthAC == 0)
-            return true;
-        // If points form a line
-        if ((a.y - b.y) * (a.x - c.x) == (a.y - c.y) * (a.x - b.x)) {
-            if (lengthAB <= radius && lengthAC <= radius && lengthBC <= radius)
-                return true;
-        }
-
-        // Calculating the radius of the circumcircle
-        double multipliedLengths = lengthAB * lengthAC * lengthBC;
-        double multipliedLengthDiffs =
-            (lengthAB + lengthAC + lengthBC) *
-            (lengthAB + lengthAC - lengthBC) *
-            (lengthAC + lengthBC - lengthAB) *
-            (lengthBC + lengthAB - lengthAC);
-        double r = multipliedLengths / sqrt(multipliedLengthDiffs);
-
-        // Check if points b or c is inside or on the radius radius1 away from a
-        if (r <= radius)
-            return true;
-        return false;
+        return Geometry.inCircle(a.x, a.y, b.x, b.y, c.x, c.y, Geometry.signedSquare(radius));
     }
 
     public boolean areAllTrue(boolean[] array)
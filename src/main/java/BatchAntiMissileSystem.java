@@ -0,0 +1,219 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Launch decisions for many tracks that share the same parameters, LCM and PUV, for
+ * example all tracks of one radar sweep. The configuration is compiled once, or taken from a
+ * ConfigurationCache, and the LICs of each track are evaluated on a single reused
+ * AntiMissileSystem. Once a batch at least as large has been decided, a sequential batch
+ * allocates nothing besides the returned decisions, and a parallel batch only its tasks.
+ * Only the LICs that can influence the decision are evaluated, unless CMVs are requested.
+ *
+ * When constructed with a ForkJoinPool, batches of at least parallelThreshold tracks are
+ * split into chunks that are evaluated concurrently in the pool, each pool thread on its own
+ * AntiMissileSystem, created the first time the thread evaluates a chunk for this instance.
+ *
+ * An instance is not thread safe.
+ */
+public class BatchAntiMissileSystem {
+
+    // The parameters of the LICs, shared by every track of a batch.
+    public final Parameters parameters;
+
+    // The Logical Connector Matrix (LCM), see AntiMissileSystem.
+    public final Connector[][] lcm;
+
+    // The Preliminary Unlocking Vector (PUV), see AntiMissileSystem.
+    public final boolean[] puv;
+
+    // Pool for parallel evaluation, null to always evaluate sequentially.
+    public final ForkJoinPool pool;
+
+    // Batches with fewer tracks than this are evaluated sequentially.
+    public int parallelThreshold = 256;
+
+    // Number of tracks evaluated by one task in parallel mode, a multiple of 64 so that
+    // concurrent tasks never share a word of the decision bitset.
+    public int tracksPerTask = 128;
+
+    // Records LIC latencies and outcomes of every track when set, null to record nothing.
+    public DecisionMetrics metrics;
+
+    // Reused for every track, only the points are swapped in.
+    private final AntiMissileSystem scratch;
+
+    // The scratch system of each pool thread, for parallel evaluation.
+    private final ThreadLocal<AntiMissileSystem> scratches = ThreadLocal.withInitial(this::newScratch);
+
+    // The decisions as bitset words, reused by every batch and grown when a batch is larger.
+    private long[] words = new long[0];
+
+    // The parameters, LCM and PUV compiled, shared by all scratch systems.
+    private final Configuration configuration;
+
+    // The LCM and PUV compiled to a plan.
+    private final DecisionPlan plan;
+
+    /**
+     *
+     * @param parameters
+     * @param lcm
+     * @param puv
+     * @return instance of BatchAntiMissileSystem
+     */
+    public BatchAntiMissileSystem(Parameters parameters, Connector[][] lcm, boolean[] puv) {
+        this(parameters, lcm, puv, null);
+    }
+
+    /**
+     *
+     * @param parameters
+     * @param lcm
+     * @param puv
+     * @param pool the pool large batches are evaluated in, null for sequential evaluation
+     * @return instance of BatchAntiMissileSystem
+     */
+    public BatchAntiMissileSystem(Parameters parameters, Connector[][] lcm, boolean[] puv, ForkJoinPool pool) {
+        this(parameters, lcm, puv, pool, null);
+    }
+
+    /**
+     *
+     * @param parameters
+     * @param lcm
+     * @param puv
+     * @param pool the pool large batches are evaluated in, null for sequential evaluation
+     * @param cache the cache to take the compiled configuration from, null to compile it
+     * @return instance of BatchAntiMissileSystem
+     */
+    public BatchAntiMissileSystem(Parameters parameters, Connector[][] lcm, boolean[] puv, ForkJoinPool pool,
+                                  ConfigurationCache cache) {
+        this.parameters = parameters;
+        this.lcm = lcm;
+        this.puv = puv;
+        this.pool = pool;
+        this.configuration = cache != null ? cache.get(parameters, lcm, puv) : Configuration.compile(parameters, lcm, puv);
+        this.plan = configuration.plan;
+        this.scratch = newScratch();
+    }
+
+    /**
+     *
+     * @param numPoints the number of points of each track
+     * @param xs the x coordinates of each track
+     * @param ys the y coordinates of each track
+     * @return the launch decisions, bit i is set iff an interceptor should be launched for track i
+     */
+    public BitSet decide(int[] numPoints, double[][] xs, double[][] ys) {
+        BitSet decisions = new BitSet(numPoints.length);
+        decide(numPoints, xs, ys, decisions, null);
+        return decisions;
+    }
+
+    /**
+     *
+     * @param numPoints the number of points of each track
+     * @param xs the x coordinates of each track
+     * @param ys the y coordinates of each track
+     * @param decisions set to the launch decisions, bit i is set iff an interceptor should be
+     *                  launched for track i
+     * @param cmvs if not null, cmvs[i] is set to the CMV of track i with LIC j in bit j, all
+     *             LICs are then evaluated
+     */
+    public void decide(int[] numPoints, double[][] xs, double[][] ys, BitSet decisions, short[] cmvs) {
+        int numTracks = numPoints.length;
+        int numWords = (numTracks + 63) >>> 6;
+        if (words.length < numWords) {
+            words = new long[numWords];
+        } else {
+            Arrays.fill(words, 0, numWords, 0);
+        }
+        if (pool == null || numTracks < parallelThreshold) {
+            scratch.metrics = metrics;
+            decide(scratch, numPoints, xs, ys, 0, numTracks, words, cmvs);
+        } else {
+            int chunk = Math.max(64, tracksPerTask & ~63);
+            pool.invoke(new TrackTask(numPoints, xs, ys, 0, numTracks, chunk, words, cmvs));
+        }
+        decisions.clear();
+        for (int word = 0; word < numWords; word++) {
+            for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                decisions.set((word << 6) + Long.numberOfTrailingZeros(bits));
+            }
+        }
+    }
+
+    /**
+     * Evaluate the tracks from (inclusive) to to (exclusive) one after another on system.
+     */
+    private void decide(AntiMissileSystem system, int[] numPoints, double[][] xs, double[][] ys,
+                               int from, int to, long[] words, short[] cmvs) {
+        for (int track = from; track < to; track++) {
+            system.numPoints = numPoints[track];
+            system.xs = xs[track];
+            system.ys = ys[track];
+
+            short cmv;
+            if (cmvs != null) {
+                system.populateCMV();
+                cmv = PackedDecision.pack(system.cmv);
+                cmvs[track] = cmv;
+            } else {
+                cmv = plan.evaluate(system);
+            }
+            if (plan.packedDecision().decide(cmv)) {
+                words[track >>> 6] |= 1L << track;
+            }
+        }
+    }
+
+    private AntiMissileSystem newScratch() {
+        AntiMissileSystem system = new AntiMissileSystem(0, new double[0], new double[0], parameters, lcm, puv);
+        system.setConfiguration(configuration);
+        system.metrics = metrics;
+        return system;
+    }
+
+    /**
+     * Splits a range of tracks in halves, aligned to 64 tracks, until it is at most chunk tracks.
+     */
+    private class TrackTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] numPoints;
+        private final double[][] xs;
+        private final double[][] ys;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final long[] words;
+        private final short[] cmvs;
+
+        TrackTask(int[] numPoints, double[][] xs, double[][] ys, int from, int to, int chunk,
+                  long[] words, short[] cmvs) {
+            this.numPoints = numPoints;
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.words = words;
+            this.cmvs = cmvs;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                AntiMissileSystem system = scratches.get();
+                system.metrics = metrics;
+                decide(system, numPoints, xs, ys, from, to, words, cmvs);
+                return;
+            }
+            int middle = from + (((to - from) >>> 1) + 63 & ~63);
+            invokeAll(new TrackTask(numPoints, xs, ys, from, middle, chunk, words, cmvs),
+                      new TrackTask(numPoints, xs, ys, middle, to, chunk, words, cmvs));
+        }
+    }
+}
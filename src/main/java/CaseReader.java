@@ -0,0 +1,383 @@
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads decision cases in the text format of in.txt from a stream, any number of cases one
+ * after the other. Every value is a token separated by whitespace, line breaks carry no
+ * meaning and a # comments out the rest of its line. A case is, in this order:
+ * <pre>
+ *   NUMPOINTS
+ *   X Y                  NUMPOINTS times
+ *   LENGTH1 RADIUS1 EPSILON AREA1 Q_PTS QUADS DIST N_PTS K_PTS A_PTS B_PTS C_PTS D_PTS
+ *   E_PTS F_PTS G_PTS LENGTH2 RADIUS2 AREA2
+ *   ANDD, ORR or NOTUSED  15 x 15 times, the LCM row by row
+ *   true or false         15 times, the PUV
+ * </pre>
+ *
+ * The bytes are parsed by hand from a reused buffer: no Scanner, regular expressions or
+ * strings, except for doubles beyond the exact fast path, and a case is read into the arrays
+ * of an existing AntiMissileSystem, which only grow when a track is longer than all before it.
+ *
+ * An instance is not thread safe.
+ */
+public class CaseReader {
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[1 << 16];
+    private int position;
+    private int limit;
+
+    // The current token, tokenLength bytes from tokenStart in token. That is buffer unless the
+    // token crosses the end of the buffer, then it is copied to scratch.
+    private byte[] token;
+    private int tokenStart;
+    private int tokenLength;
+    private byte[] scratch = new byte[64];
+
+    // The bytes that end a token.
+    private static final boolean[] DELIMITERS = new boolean[256];
+
+    // The line of the current token, for error messages.
+    private int line = 1;
+
+    // Exact powers of ten for the fast path of nextDouble().
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        for (char c : new char[]{' ', '\t', '\n', '\r', '\f', '#'}) {
+            DELIMITERS[c] = true;
+        }
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     *
+     * @param in
+     * @return instance of CaseReader reading from the stream, which is read in blocks and
+     * does not need to be buffered
+     */
+    public CaseReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Read the next case into the system: numPoints, xs, ys, every field of parameters and
+     * the entries of lcm and puv, which must be 15 x 15 and 15 long. The system is then
+     * rebound to them with reset(), so that nothing compiled from the previous case is used.
+     * @param system
+     * @return false if the stream ends before the case
+     * @throws IOException if the stream cannot be read or the case is malformed
+     */
+    public boolean read(AntiMissileSystem system) throws IOException {
+        if (!nextToken()) {
+            return false;
+        }
+        int numPoints = parseInt();
+        if (numPoints < 0) {
+            throw error("NUMPOINTS must not be negative");
+        }
+        if (system.xs == null || system.xs.length < numPoints) {
+            system.xs = new double[numPoints];
+            system.ys = new double[numPoints];
+        }
+        for (int i = 0; i < numPoints; i++) {
+            system.xs[i] = nextDouble();
+            system.ys[i] = nextDouble();
+        }
+        system.numPoints = numPoints;
+
+        Parameters parameters = system.parameters;
+        parameters.length1 = nextDouble();
+        parameters.radius1 = nextDouble();
+        parameters.epsilon = nextDouble();
+        parameters.area1 = nextDouble();
+        parameters.qPts = nextInt();
+        parameters.qUads = nextInt();
+        parameters.dist = nextDouble();
+        parameters.nPTS = nextInt();
+        parameters.kPTS = nextInt();
+        parameters.aPTS = nextInt();
+        parameters.bPTS = nextInt();
+        parameters.cPTS = nextInt();
+        parameters.dPTS = nextInt();
+        parameters.ePTS = nextInt();
+        parameters.fPTS = nextInt();
+        parameters.gPTS = nextInt();
+        parameters.length2 = nextDouble();
+        parameters.radius2 = nextDouble();
+        parameters.area2 = nextDouble();
+
+        for (int i = 0; i < 15; i++) {
+            for (int j = 0; j < 15; j++) {
+                system.lcm[i][j] = nextConnector();
+            }
+        }
+        for (int i = 0; i < 15; i++) {
+            system.puv[i] = nextBoolean();
+        }
+        system.reset(parameters, system.lcm, system.puv);
+        return true;
+    }
+
+    private int nextInt() throws IOException {
+        require();
+        return parseInt();
+    }
+
+    private double nextDouble() throws IOException {
+        require();
+        return parseDouble();
+    }
+
+    private Connector nextConnector() throws IOException {
+        require();
+        if (tokenIs("ANDD")) {
+            return Connector.ANDD;
+        } else if (tokenIs("ORR")) {
+            return Connector.ORR;
+        } else if (tokenIs("NOTUSED")) {
+            return Connector.NOTUSED;
+        }
+        throw error("expected ANDD, ORR or NOTUSED");
+    }
+
+    private boolean nextBoolean() throws IOException {
+        require();
+        if (tokenIs("true")) {
+            return true;
+        } else if (tokenIs("false")) {
+            return false;
+        }
+        throw error("expected true or false");
+    }
+
+    private void require() throws IOException {
+        if (!nextToken()) {
+            throw new IOException("Line " + line + ": unexpected end of input in the middle of a case");
+        }
+    }
+
+    private boolean tokenIs(String keyword) {
+        if (tokenLength != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < tokenLength; i++) {
+            if (token[tokenStart + i] != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int parseInt() throws IOException {
+        byte[] bytes = token;
+        int i = tokenStart;
+        int end = tokenStart + tokenLength;
+        boolean negative = false;
+        if (tokenLength > 1 && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw error("expected an integer");
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw error("integer out of range");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error("integer out of range");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Decimals with at most 15 significant digits and a decimal exponent of at most 22 are
+     * converted exactly as mantissa * 10^exponent or mantissa / 10^-exponent, as both operands
+     * are exact doubles. Everything else is left to Double.parseDouble().
+     */
+    private double parseDouble() throws IOException {
+        byte[] bytes = token;
+        int i = tokenStart;
+        int end = tokenStart + tokenLength;
+        boolean negative = false;
+        if (tokenLength > 1 && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+
+        // Integer and fraction digits, the leading zeros are not significant
+        int start = i;
+        while (i < end && bytes[i] == '0') {
+            i++;
+        }
+        int significant = i;
+        long mantissa = 0;
+        int digit;
+        while (i < end && (digit = bytes[i] - '0') >= 0 && digit <= 9) {
+            mantissa = mantissa * 10 + digit;
+            i++;
+        }
+        int digits = i - significant;
+        int exponent = 0;
+        int integerEnd = i;
+        if (i < end && bytes[i] == '.') {
+            i++;
+            int fraction = i;
+            if (mantissa == 0) {
+                while (i < end && bytes[i] == '0') {
+                    i++;
+                }
+            }
+            significant = i;
+            while (i < end && (digit = bytes[i] - '0') >= 0 && digit <= 9) {
+                mantissa = mantissa * 10 + digit;
+                i++;
+            }
+            digits += i - significant;
+            exponent = fraction - i;
+        }
+        if (i - start == (integerEnd < i ? 1 : 0)) {
+            // No digits at all
+            return slowDouble();
+        }
+        if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            int exponentStart = i;
+            int value = 0;
+            for (; i < end && (digit = bytes[i] - '0') >= 0 && digit <= 9; i++) {
+                value = Math.min(value * 10 + digit, 100000);
+            }
+            if (i == exponentStart) {
+                return slowDouble();
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (i < end || digits > 15) {
+            return slowDouble();
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return slowDouble();
+        }
+        return negative ? -value : value;
+    }
+
+    private double slowDouble() throws IOException {
+        try {
+            return Double.parseDouble(new String(token, tokenStart, tokenLength, "US-ASCII"));
+        } catch (NumberFormatException e) {
+            throw error("expected a number");
+        }
+    }
+
+    private IOException error(String message) {
+        String found;
+        try {
+            found = new String(token, tokenStart, Math.min(tokenLength, 40), "US-ASCII");
+        } catch (java.io.UnsupportedEncodingException e) {
+            found = "";
+        }
+        return new IOException("Line " + line + ": " + message + ", found '" + found + "'");
+    }
+
+    /**
+     * Read the next token into token and tokenLength.
+     * @return false at the end of the stream
+     */
+    private boolean nextToken() throws IOException {
+        // Skip whitespace and comments
+        while (true) {
+            if (position == limit && !fill()) {
+                return false;
+            }
+            byte b = buffer[position];
+            if (b == '#') {
+                while (position < limit || fill()) {
+                    if (buffer[position] == '\n') {
+                        break;
+                    }
+                    position++;
+                }
+            } else if (b == '\n') {
+                line++;
+                position++;
+            } else if (b == ' ' || b == '\t' || b == '\r' || b == '\f') {
+                position++;
+            } else {
+                break;
+            }
+        }
+
+        int from = position;
+        while (position < limit && !DELIMITERS[buffer[position] & 0xFF]) {
+            position++;
+        }
+        if (position < limit) {
+            token = buffer;
+            tokenStart = from;
+            tokenLength = position - from;
+            return true;
+        }
+
+        // The token may continue after the end of the buffer
+        tokenLength = 0;
+        append(from, position);
+        while (fill()) {
+            from = position;
+            while (position < limit && !DELIMITERS[buffer[position] & 0xFF]) {
+                position++;
+            }
+            append(from, position);
+            if (position < limit) {
+                break;
+            }
+        }
+        token = scratch;
+        tokenStart = 0;
+        return true;
+    }
+
+    private void append(int from, int to) {
+        int length = to - from;
+        if (scratch.length < tokenLength + length) {
+            scratch = java.util.Arrays.copyOf(scratch, Math.max(scratch.length * 2, tokenLength + length));
+        }
+        System.arraycopy(buffer, from, scratch, tokenLength, length);
+        tokenLength += length;
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        while (read == 0) {
+            read = in.read(buffer, 0, buffer.length);
+        }
+        if (read < 0) {
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
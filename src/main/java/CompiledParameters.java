@@ -0,0 +1,184 @@
+/**
+ * Immutable snapshot of Parameters with the constants the LICs compare against precomputed:
+ * squared lengths and radii, doubled areas, the cosine of the LIC 2 and LIC 9 angle limit and
+ * the gaps between the points of the pairs and triples. It is safe to share between threads
+ * and tracks.
+ *
+ * possibleLics holds the LICs whose own parameter checks pass, the others are never met. These
+ * are the checks the LICs have always made, validate() checks every constraint of the
+ * specification for callers that want to reject invalid parameters instead.
+ */
+public final class CompiledParameters {
+
+    // The values of Parameters the snapshot was compiled from.
+    public final double length1;
+    public final double radius1;
+    public final double epsilon;
+    public final double area1;
+    public final int qPts;
+    public final int qUads;
+    public final double dist;
+    public final int nPTS;
+    public final int kPTS;
+    public final int aPTS;
+    public final int bPTS;
+    public final int cPTS;
+    public final int dPTS;
+    public final int ePTS;
+    public final int fPTS;
+    public final int gPTS;
+    public final double length2;
+    public final double radius2;
+    public final double area2;
+
+    // Geometry.signedSquare() of the lengths, radii and distance.
+    public final double length1Squared;
+    public final double length2Squared;
+    public final double radius1Squared;
+    public final double radius2Squared;
+    public final double distSquared;
+
+    // Twice the areas, compared with Geometry.doubledArea().
+    public final double doubledArea1;
+    public final double doubledArea2;
+
+    // Geometry.cosAngle() of PI - EPSILON.
+    public final double cosAngleLimit;
+
+    // One more than the number of intervening points, the index distance within a pair or triple.
+    public final int kGap;
+    public final int aGap;
+    public final int bGap;
+    public final int cGap;
+    public final int dGap;
+    public final int eGap;
+    public final int fGap;
+    public final int gGap;
+
+    // Bit i is set if LIC i can be met with these parameters.
+    public final short possibleLics;
+
+    /**
+     *
+     * @param parameters
+     * @return a snapshot of the current values of the parameters
+     */
+    public CompiledParameters(Parameters parameters) {
+        length1 = parameters.length1;
+        radius1 = parameters.radius1;
+        epsilon = parameters.epsilon;
+        area1 = parameters.area1;
+        qPts = parameters.qPts;
+        qUads = parameters.qUads;
+        dist = parameters.dist;
+        nPTS = parameters.nPTS;
+        kPTS = parameters.kPTS;
+        aPTS = parameters.aPTS;
+        bPTS = parameters.bPTS;
+        cPTS = parameters.cPTS;
+        dPTS = parameters.dPTS;
+        ePTS = parameters.ePTS;
+        fPTS = parameters.fPTS;
+        gPTS = parameters.gPTS;
+        length2 = parameters.length2;
+        radius2 = parameters.radius2;
+        area2 = parameters.area2;
+
+        length1Squared = Geometry.signedSquare(length1);
+        length2Squared = Geometry.signedSquare(length2);
+        radius1Squared = Geometry.signedSquare(radius1);
+        radius2Squared = Geometry.signedSquare(radius2);
+        distSquared = Geometry.signedSquare(dist);
+        doubledArea1 = 2 * area1;
+        doubledArea2 = 2 * area2;
+        cosAngleLimit = Geometry.cosAngle(Math.PI - epsilon);
+
+        kGap = kPTS + 1;
+        aGap = aPTS + 1;
+        bGap = bPTS + 1;
+        cGap = cPTS + 1;
+        dGap = dPTS + 1;
+        eGap = ePTS + 1;
+        fGap = fPTS + 1;
+        gGap = gPTS + 1;
+
+        int possible = PackedDecision.ALL;
+        if (radius1 < 0) {
+            possible &= ~(1 << 1);
+        }
+        if (qPts < 2 || qUads < 1 || qUads > 3) {
+            possible &= ~(1 << 4);
+        }
+        if (aPTS < 1 || bPTS < 1 || radius1 < 0) {
+            possible &= ~(1 << 8);
+        }
+        if (radius2 <= 0) {
+            possible &= ~(1 << 13);
+        }
+        possibleLics = (short) possible;
+    }
+
+    /**
+     *
+     * @param lic
+     * @return whether the LIC can be met with these parameters
+     */
+    public boolean possible(int lic) {
+        return (possibleLics & (1 << lic)) != 0;
+    }
+
+    /**
+     *
+     * @param parameters
+     * @return whether the snapshot holds the current values of the parameters
+     */
+    public boolean matches(Parameters parameters) {
+        return same(length1, parameters.length1) && same(radius1, parameters.radius1)
+                && same(epsilon, parameters.epsilon) && same(area1, parameters.area1)
+                && qPts == parameters.qPts && qUads == parameters.qUads
+                && same(dist, parameters.dist) && nPTS == parameters.nPTS
+                && kPTS == parameters.kPTS && aPTS == parameters.aPTS && bPTS == parameters.bPTS
+                && cPTS == parameters.cPTS && dPTS == parameters.dPTS
+                && ePTS == parameters.ePTS && fPTS == parameters.fPTS && gPTS == parameters.gPTS
+                && same(length2, parameters.length2) && same(radius2, parameters.radius2)
+                && same(area2, parameters.area2);
+    }
+
+    private static boolean same(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    /**
+     * Check the constraints of the specification on the parameters for a track.
+     * @param numPoints
+     * @throws IllegalArgumentException naming the first constraint that does not hold
+     */
+    public void validate(int numPoints) {
+        require(numPoints >= 2, "2 <= NUMPOINTS");
+        require(length1 >= 0, "0 <= LENGTH1");
+        require(radius1 >= 0, "0 <= RADIUS1");
+        require(epsilon >= 0 && epsilon < Math.PI, "0 <= EPSILON < PI");
+        require(area1 >= 0, "0 <= AREA1");
+        require(2 <= qPts && qPts <= numPoints, "2 <= Q_PTS <= NUMPOINTS");
+        require(1 <= qUads && qUads <= 3, "1 <= QUADS <= 3");
+        require(3 <= nPTS && nPTS <= numPoints, "3 <= N_PTS <= NUMPOINTS");
+        require(dist >= 0, "0 <= DIST");
+        require(1 <= kPTS && kPTS <= numPoints - 2, "1 <= K_PTS <= NUMPOINTS - 2");
+        require(1 <= aPTS && 1 <= bPTS, "1 <= A_PTS, 1 <= B_PTS");
+        require(aPTS + bPTS <= numPoints - 3, "A_PTS + B_PTS <= NUMPOINTS - 3");
+        require(1 <= cPTS && 1 <= dPTS, "1 <= C_PTS, 1 <= D_PTS");
+        require(cPTS + dPTS <= numPoints - 3, "C_PTS + D_PTS <= NUMPOINTS - 3");
+        require(1 <= ePTS && 1 <= fPTS, "1 <= E_PTS, 1 <= F_PTS");
+        require(ePTS + fPTS <= numPoints - 3, "E_PTS + F_PTS <= NUMPOINTS - 3");
+        require(1 <= gPTS && gPTS <= numPoints - 2, "1 <= G_PTS <= NUMPOINTS - 2");
+        require(length2 >= 0, "0 <= LENGTH2");
+        require(radius2 >= 0, "0 <= RADIUS2");
+        require(area2 >= 0, "0 <= AREA2");
+    }
+
+    private static void require(boolean condition, String constraint) {
+        if (!condition) {
+            throw new IllegalArgumentException("Parameters violate " + constraint);
+        }
+    }
+}
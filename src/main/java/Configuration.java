@@ -0,0 +1,32 @@
+/**
+ * A compiled configuration: the parameters with their derived constants and the decision plan
+ * of the LCM and PUV. Immutable, so one instance can be shared by any number of tracks and
+ * threads, see ConfigurationCache.
+ */
+public final class Configuration {
+
+    public final CompiledParameters parameters;
+
+    public final DecisionPlan plan;
+
+    // ConfigurationCache.fingerprint() of the parameters, LCM and PUV.
+    public final long fingerprint;
+
+    private Configuration(CompiledParameters parameters, DecisionPlan plan, long fingerprint) {
+        this.parameters = parameters;
+        this.plan = plan;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     *
+     * @param parameters
+     * @param lcm
+     * @param puv
+     * @return the configuration compiled from the current values of its parts
+     */
+    public static Configuration compile(Parameters parameters, Connector[][] lcm, boolean[] puv) {
+        return new Configuration(new CompiledParameters(parameters), DecisionPlan.compile(lcm, puv),
+                ConfigurationCache.fingerprint(parameters, lcm, puv));
+    }
+}
@@ -0,0 +1,187 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of compiled configurations, so that tracks with the same parameters, LCM and
+ * PUV share one Configuration instead of compiling their own.
+ *
+ * A configuration is looked up by its fingerprint, the exact values of all parameters, every
+ * LCM cell and every PUV entry packed into longs, so two configurations share an entry iff
+ * they are equal. When the cache is full the least recently used configuration is evicted.
+ *
+ * The cache is thread safe. Compiling happens outside the lock, if two threads miss on the
+ * same configuration at once both compile it and the first one stored is returned to both.
+ */
+public class ConfigurationCache {
+
+    // The maximum number of configurations kept.
+    public final int capacity;
+
+    // Fingerprint to configuration, in access order.
+    private final LinkedHashMap<Fingerprint, Configuration> configurations =
+            new LinkedHashMap<Fingerprint, Configuration>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     *
+     * @param capacity the maximum number of configurations kept, at least 1
+     * @return instance of ConfigurationCache
+     */
+    public ConfigurationCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     *
+     * @param parameters
+     * @param lcm
+     * @param puv
+     * @return the shared configuration for the current values of parameters, lcm and puv
+     */
+    public Configuration get(Parameters parameters, Connector[][] lcm, boolean[] puv) {
+        Fingerprint fingerprint = new Fingerprint(parameters, lcm, puv);
+        synchronized (this) {
+            Configuration configuration = configurations.get(fingerprint);
+            if (configuration != null) {
+                hits++;
+                return configuration;
+            }
+            misses++;
+        }
+
+        Configuration compiled = Configuration.compile(parameters, lcm, puv);
+        synchronized (this) {
+            Configuration configuration = configurations.get(fingerprint);
+            if (configuration != null) {
+                return configuration;
+            }
+            configurations.put(fingerprint, compiled);
+            if (configurations.size() > capacity) {
+                Iterator<Map.Entry<Fingerprint, Configuration>> eldest = configurations.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions++;
+            }
+            return compiled;
+        }
+    }
+
+    /**
+     *
+     * @return the number of lookups that returned a cached configuration
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     *
+     * @return the number of lookups that had to compile the configuration
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     *
+     * @return the number of configurations evicted to stay within the capacity
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    /**
+     *
+     * @return the number of configurations currently cached
+     */
+    public synchronized int size() {
+        return configurations.size();
+    }
+
+    /**
+     *
+     * @param parameters
+     * @param lcm
+     * @param puv
+     * @return a 64 bit hash of the current values of the configuration, equal for equal
+     * configurations, e.g. to tell configurations apart in logs and recordings
+     */
+    public static long fingerprint(Parameters parameters, Connector[][] lcm, boolean[] puv) {
+        return new Fingerprint(parameters, lcm, puv).digest();
+    }
+
+    /**
+     * The values of a configuration packed into longs: the bits of the 19 parameters, the
+     * 225 LCM cells at 2 bits each and the 15 PUV entries.
+     */
+    private static final class Fingerprint {
+
+        private final long[] words = new long[19 + 8 + 1];
+        private final int hash;
+
+        Fingerprint(Parameters parameters, Connector[][] lcm, boolean[] puv) {
+            words[0] = Double.doubleToLongBits(parameters.length1);
+            words[1] = Double.doubleToLongBits(parameters.radius1);
+            words[2] = Double.doubleToLongBits(parameters.epsilon);
+            words[3] = Double.doubleToLongBits(parameters.area1);
+            words[4] = parameters.qPts;
+            words[5] = parameters.qUads;
+            words[6] = Double.doubleToLongBits(parameters.dist);
+            words[7] = parameters.nPTS;
+            words[8] = parameters.kPTS;
+            words[9] = parameters.aPTS;
+            words[10] = parameters.bPTS;
+            words[11] = parameters.cPTS;
+            words[12] = parameters.dPTS;
+            words[13] = parameters.ePTS;
+            words[14] = parameters.fPTS;
+            words[15] = parameters.gPTS;
+            words[16] = Double.doubleToLongBits(parameters.length2);
+            words[17] = Double.doubleToLongBits(parameters.radius2);
+            words[18] = Double.doubleToLongBits(parameters.area2);
+
+            for (int i = 0; i < 15; i++) {
+                for (int j = 0; j < 15; j++) {
+                    int cell = i * 15 + j;
+                    long connector = lcm[i][j] == null ? 3 : lcm[i][j].ordinal();
+                    words[19 + (cell >>> 5)] |= connector << ((cell & 31) << 1);
+                }
+                if (puv[i]) {
+                    words[27] |= 1L << i;
+                }
+            }
+            hash = Arrays.hashCode(words);
+        }
+
+        /**
+         *
+         * @return a 64 bit hash of the configuration
+         */
+        long digest() {
+            long digest = 0xCBF29CE484222325L;
+            for (long word : words) {
+                digest = (digest ^ word) * 0x100000001B3L;
+                digest ^= digest >>> 29;
+            }
+            return digest;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Fingerprint && Arrays.equals(words, ((Fingerprint) other).words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * The command line of AntiMissileSystem.main():
+ * <pre>
+ *   AntiMissileSystem [--cmv] [--fuv] [input [output]]
+ * </pre>
+ * Reads the cases of input, e.g. in.txt, see CaseReader for the format, and writes one line
+ * per case to output, e.g. out.txt: YES if an interceptor should be launched, otherwise NO.
+ * --cmv and --fuv add a line with the CMV or FUV of the case as 15 times true or false.
+ * input and output default to standard input and output, - selects them explicitly.
+ *
+ * The cases are decided one after the other by a single AntiMissileSystem whose arrays are
+ * reused, and the output is written through a reused byte buffer.
+ */
+public class DecideCommand {
+
+    private static final byte[] YES = ascii("YES\n");
+    private static final byte[] NO = ascii("NO\n");
+    private static final byte[] CMV = ascii("CMV");
+    private static final byte[] FUV = ascii("FUV");
+    private static final byte[] TRUE = ascii(" true");
+    private static final byte[] FALSE = ascii(" false");
+
+    // Write the CMV or FUV of every case.
+    public boolean printCmv;
+    public boolean printFuv;
+
+    // Reports the decisions to a profiler, see AntiMissileSystem.
+    public DecisionEvents events = DecisionEvents.DEFAULT;
+
+    private final byte[] buffer = new byte[1 << 16];
+    private int length;
+
+    /**
+     * Run the command line, the streams of the process are passed in so that it can be tested.
+     * @param args
+     * @param in standard input
+     * @param out standard output
+     * @param err standard error, for the usage and errors
+     * @return the exit status, 0 on success
+     */
+    public static int run(String[] args, InputStream in, OutputStream out, PrintStream err) {
+        DecideCommand command = new DecideCommand();
+        String input = "-";
+        String output = "-";
+        int files = 0;
+        for (String arg : args) {
+            if (arg.equals("--cmv")) {
+                command.printCmv = true;
+            } else if (arg.equals("--fuv")) {
+                command.printFuv = true;
+            } else if ((arg.startsWith("-") && !arg.equals("-")) || files == 2) {
+                err.println("Usage: AntiMissileSystem [--cmv] [--fuv] [input [output]]");
+                return 2;
+            } else if (files++ == 0) {
+                input = arg;
+            } else {
+                output = arg;
+            }
+        }
+
+        InputStream source = null;
+        OutputStream target = null;
+        try {
+            source = input.equals("-") ? in : new FileInputStream(input);
+            target = output.equals("-") ? out : new FileOutputStream(output);
+            command.decide(source, target);
+            return 0;
+        } catch (IOException e) {
+            err.println("AntiMissileSystem: " + e.getMessage());
+            return 1;
+        } finally {
+            closeQuietly(source, in);
+            closeQuietly(target, out);
+        }
+    }
+
+    /**
+     * Decide every case of in and write the outcomes to out, which is flushed but not closed,
+     * also when a case is malformed.
+     * @param in
+     * @param out
+     * @return the number of cases
+     * @throws IOException if a stream fails or a case is malformed
+     */
+    public int decide(InputStream in, OutputStream out) throws IOException {
+        CaseReader reader = new CaseReader(in);
+        Connector[][] lcm = new Connector[15][15];
+        AntiMissileSystem system = new AntiMissileSystem(0, new double[0], new double[0],
+                new Parameters(), lcm, new boolean[15]);
+        system.events = events;
+        int cases = 0;
+        try {
+            while (reader.read(system)) {
+                cases++;
+                write(out, system.decideEagerly() ? YES : NO);
+                if (printCmv) {
+                    write(out, CMV, system.cmv);
+                }
+                if (printFuv) {
+                    write(out, FUV, system.fuv);
+                }
+            }
+        } finally {
+            // The outcomes of the cases before a malformed one are kept
+            flush(out);
+            out.flush();
+        }
+        return cases;
+    }
+
+    private void write(OutputStream out, byte[] label, boolean[] vector) throws IOException {
+        write(out, label);
+        for (boolean value : vector) {
+            write(out, value ? TRUE : FALSE);
+        }
+        if (length == buffer.length) {
+            flush(out);
+        }
+        buffer[length++] = '\n';
+    }
+
+    private void write(OutputStream out, byte[] bytes) throws IOException {
+        if (buffer.length - length < bytes.length) {
+            flush(out);
+        }
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void flush(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+        length = 0;
+    }
+
+    private static void closeQuietly(Closeable stream, Object standard) {
+        if (stream == null || stream == standard) {
+            return;
+        }
+        try {
+            stream.close();
+        } catch (IOException e) {
+            // The outcome has been written or the error reported already
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        byte[] bytes = new byte[text.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) text.charAt(i);
+        }
+        return bytes;
+    }
+}
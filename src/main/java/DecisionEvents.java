@@ -0,0 +1,93 @@
+/**
+ * Hooks that report decisions and slow LIC evaluations to a profiler. The begin methods
+ * return an event to pass to the matching commit method, or null when the event is not
+ * recorded, in which case the commit method must not be called.
+ *
+ * DEFAULT is JfrDecisionEvents of the jfr module when that is on the class path and the JVM
+ * has Java Flight Recorder, which reports them as JFR events that are enabled, and given a
+ * threshold, through the usual JFR settings. Otherwise it is NONE, which records nothing.
+ */
+public interface DecisionEvents {
+
+    DecisionEvents NONE = new DecisionEvents() {
+        @Override
+        public Object beginDecision() {
+            return null;
+        }
+
+        @Override
+        public void commitDecision(Object event, int numPoints, long fingerprint, long cmvNanos, long pumNanos,
+                                   long fuvNanos, boolean lazy, boolean launch) {
+        }
+
+        @Override
+        public boolean licEnabled() {
+            return false;
+        }
+
+        @Override
+        public Object beginLic() {
+            return null;
+        }
+
+        @Override
+        public void commitLic(Object event, int lic, int numPoints, boolean met) {
+        }
+    };
+
+    DecisionEvents DEFAULT = load();
+
+    /**
+     *
+     * @return a started decision event, null if decisions are not recorded
+     */
+    Object beginDecision();
+
+    /**
+     * End and record a decision event.
+     * @param event returned by beginDecision()
+     * @param numPoints the length of the track
+     * @param fingerprint ConfigurationCache.fingerprint() of the configuration
+     * @param cmvNanos the time spent evaluating LICs
+     * @param pumNanos the time spent in populatePUM(), 0 for lazy decisions
+     * @param fuvNanos the time spent in generateFUV(), 0 for lazy decisions
+     * @param lazy whether the decision was made by decideLazily()
+     * @param launch the outcome
+     */
+    void commitDecision(Object event, int numPoints, long fingerprint, long cmvNanos, long pumNanos, long fuvNanos,
+                        boolean lazy, boolean launch);
+
+    /**
+     *
+     * @return whether beginLic() may currently return an event, so that the LICs are worth
+     * evaluating one by one through AntiMissileSystem.lic()
+     */
+    boolean licEnabled();
+
+    /**
+     *
+     * @return a started LIC event, null if LIC evaluations are not recorded
+     */
+    Object beginLic();
+
+    /**
+     * End a LIC event and record it if it took longer than the threshold of the profiler.
+     * @param event returned by beginLic()
+     * @param lic
+     * @param numPoints the length of the track
+     * @param met the outcome
+     */
+    void commitLic(Object event, int lic, int numPoints, boolean met);
+
+    /**
+     *
+     * @return the JFR events if they can be loaded, otherwise NONE
+     */
+    static DecisionEvents load() {
+        try {
+            return (DecisionEvents) Class.forName("JfrDecisionEvents").getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return NONE;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in instrumentation of the decision pipeline. Set an instance as the metrics of an
+ * AntiMissileSystem or BatchAntiMissileSystem, from then on it records:
+ *  - per LIC, how often it was evaluated, how often it was met and its latency;
+ *  - the latency of populateCMV(), populatePUM() and generateFUV();
+ *  - for decideLazily(), how many LICs were evaluated before the outcome was known.
+ * One instance can be shared by any number of systems and threads, recording is lock-free.
+ * Without metrics the pipeline only pays a null check per LIC and stage.
+ */
+public class DecisionMetrics {
+
+    // The stages of the eager pipeline.
+    public static final int POPULATE_CMV = 0;
+    public static final int POPULATE_PUM = 1;
+    public static final int GENERATE_FUV = 2;
+
+    private final LongAdder[] evaluations = new LongAdder[15];
+    private final LongAdder[] met = new LongAdder[15];
+    private final LatencyHistogram[] licLatencies = new LatencyHistogram[15];
+    private final LatencyHistogram[] stageLatencies = new LatencyHistogram[3];
+
+    // Index i counts the lazy decisions that were known after evaluating i LICs.
+    private final AtomicLongArray lazyExits = new AtomicLongArray(16);
+
+    /**
+     *
+     * @return instance of DecisionMetrics with nothing recorded
+     */
+    public DecisionMetrics() {
+        for (int lic = 0; lic < 15; lic++) {
+            evaluations[lic] = new LongAdder();
+            met[lic] = new LongAdder();
+            licLatencies[lic] = new LatencyHistogram();
+        }
+        for (int stage = 0; stage < stageLatencies.length; stage++) {
+            stageLatencies[stage] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Record an evaluation of a LIC.
+     * @param lic
+     * @param conditionMet
+     * @param nanos
+     */
+    public void recordLic(int lic, boolean conditionMet, long nanos) {
+        evaluations[lic].increment();
+        if (conditionMet) {
+            met[lic].increment();
+        }
+        licLatencies[lic].record(nanos);
+    }
+
+    /**
+     * Record a run of a stage of the eager pipeline.
+     * @param stage POPULATE_CMV, POPULATE_PUM or GENERATE_FUV
+     * @param nanos
+     */
+    public void recordStage(int stage, long nanos) {
+        stageLatencies[stage].record(nanos);
+    }
+
+    /**
+     * Record a lazy decision.
+     * @param evaluated the number of LICs evaluated before the outcome was known, 0 to 15
+     */
+    public void recordLazyDecision(int evaluated) {
+        lazyExits.incrementAndGet(evaluated);
+    }
+
+    /**
+     *
+     * @return a copy of everything recorded so far
+     */
+    public Snapshot snapshot() {
+        long[] evaluationCounts = new long[15];
+        long[] metCounts = new long[15];
+        LatencyHistogram.Snapshot[] lics = new LatencyHistogram.Snapshot[15];
+        for (int lic = 0; lic < 15; lic++) {
+            evaluationCounts[lic] = evaluations[lic].sum();
+            metCounts[lic] = met[lic].sum();
+            lics[lic] = licLatencies[lic].snapshot();
+        }
+        LatencyHistogram.Snapshot[] stages = new LatencyHistogram.Snapshot[stageLatencies.length];
+        for (int stage = 0; stage < stages.length; stage++) {
+            stages[stage] = stageLatencies[stage].snapshot();
+        }
+        long[] exits = new long[16];
+        for (int i = 0; i < exits.length; i++) {
+            exits[i] = lazyExits.get(i);
+        }
+        return new Snapshot(evaluationCounts, metCounts, lics, stages, exits);
+    }
+
+    /**
+     * Immutable copy of the metrics at one point in time.
+     */
+    public static final class Snapshot {
+
+        private final long[] evaluations;
+        private final long[] met;
+        private final LatencyHistogram.Snapshot[] licLatencies;
+        private final LatencyHistogram.Snapshot[] stageLatencies;
+        private final long[] lazyExits;
+
+        Snapshot(long[] evaluations, long[] met, LatencyHistogram.Snapshot[] licLatencies,
+                 LatencyHistogram.Snapshot[] stageLatencies, long[] lazyExits) {
+            this.evaluations = evaluations;
+            this.met = met;
+            this.licLatencies = licLatencies;
+            this.stageLatencies = stageLatencies;
+            this.lazyExits = lazyExits;
+        }
+
+        /**
+         *
+         * @param lic
+         * @return how often the LIC was evaluated
+         */
+        public long evaluations(int lic) {
+            return evaluations[lic];
+        }
+
+        /**
+         *
+         * @param lic
+         * @return how often the LIC was met
+         */
+        public long met(int lic) {
+            return met[lic];
+        }
+
+        /**
+         *
+         * @param lic
+         * @return the fraction of the evaluations of the LIC that it was met, 0 if it was never
+         * evaluated
+         */
+        public double metRate(int lic) {
+            return evaluations[lic] == 0 ? 0 : (double) met[lic] / evaluations[lic];
+        }
+
+        /**
+         *
+         * @param lic
+         * @return the latencies of the LIC in nanoseconds
+         */
+        public LatencyHistogram.Snapshot licLatency(int lic) {
+            return licLatencies[lic];
+        }
+
+        /**
+         *
+         * @param stage POPULATE_CMV, POPULATE_PUM or GENERATE_FUV
+         * @return the latencies of the stage in nanoseconds
+         */
+        public LatencyHistogram.Snapshot stageLatency(int stage) {
+            return stageLatencies[stage];
+        }
+
+        /**
+         *
+         * @param evaluated 0 to 15
+         * @return the number of lazy decisions that were known after evaluating that many LICs
+         */
+        public long lazyDecisions(int evaluated) {
+            return lazyExits[evaluated];
+        }
+    }
+}
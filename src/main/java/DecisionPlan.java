@@ -0,0 +1,157 @@
+/**
+ * A launch decision compiled from an LCM and a PUV. Compiling determines which LICs can
+ * influence the FUV at all, and the plan only evaluates those:
+ *  - a row i with PUV[i] false is always true in the FUV, so it depends on no LIC;
+ *  - an unlocked row i depends on LIC j for every cell lcm[i][j] that is ANDD or ORR, and on
+ *    LIC i itself if the row has any such cell. A row with only NOTUSED cells is always true.
+ * Every other LIC is left unevaluated and reported as not met.
+ *
+ * decideLazily() goes further and evaluates the required LICs one at a time, cheapest
+ * first, stopping as soon as the remaining LICs cannot change the outcome.
+ *
+ * A plan is immutable and can be shared between threads and reused for any number of tracks.
+ */
+public final class DecisionPlan {
+
+    // The LICs from the cheapest to the most expensive to evaluate: a single x comparison
+    // per pair (5, 11), a distance per pair (0, 7, 12), an area per triple (3, 10, 14), an
+    // angle per triple (2, 9), circles per triple (1, 8, 13) and finally the windowed LICs 4 and 6,
+    // which cost O(Q_PTS) and O(N_PTS) per window.
+    public static final int[] COST_ORDER = {5, 11, 0, 7, 12, 3, 10, 14, 2, 9, 1, 8, 13, 4, 6};
+
+    // The LICs that influence the FUV, LIC i in bit i.
+    private final short requiredLics;
+
+    // The LCM and PUV compiled to bitmasks.
+    private final PackedDecision packedDecision;
+
+    private DecisionPlan(short requiredLics, PackedDecision packedDecision) {
+        this.requiredLics = requiredLics;
+        this.packedDecision = packedDecision;
+    }
+
+    /**
+     *
+     * @param lcm
+     * @param puv
+     * @return the plan for the configuration
+     */
+    public static DecisionPlan compile(Connector[][] lcm, boolean[] puv) {
+        int required = 0;
+        for (int i = 0; i < 15; i++) {
+            if (!puv[i]) {
+                continue;
+            }
+            int used = 0;
+            for (int j = 0; j < 15; j++) {
+                if (lcm[i][j] != Connector.NOTUSED) {
+                    used |= 1 << j;
+                }
+            }
+            if (used != 0) {
+                required |= used | 1 << i;
+            }
+        }
+        return new DecisionPlan((short) required, new PackedDecision(lcm, puv));
+    }
+
+    /**
+     *
+     * @return the LICs the plan evaluates, LIC i in bit i
+     */
+    public short requiredLics() {
+        return requiredLics;
+    }
+
+    /**
+     *
+     * @return the LCM and PUV of the plan as a PackedDecision
+     */
+    public PackedDecision packedDecision() {
+        return packedDecision;
+    }
+
+    /**
+     * Evaluate the required LICs on the track and parameters of system.
+     * @param system
+     * @return the CMV as a bitset, LICs that are not required are reported as not met
+     */
+    public short evaluate(AntiMissileSystem system) {
+        int cmv = 0;
+        int remaining = requiredLics;
+        while (remaining != 0) {
+            int lic = Integer.numberOfTrailingZeros(remaining);
+            if (system.lic(lic)) {
+                cmv |= 1 << lic;
+            }
+            remaining &= remaining - 1;
+        }
+        return (short) cmv;
+    }
+
+    /**
+     *
+     * @param system
+     * @return whether an interceptor should be launched for the track and parameters of system
+     */
+    public boolean decide(AntiMissileSystem system) {
+        return packedDecision.decide(evaluate(system));
+    }
+
+    /**
+     * Decide like decide(), but evaluate the required LICs in COST_ORDER and stop as soon as
+     * the outcome no longer depends on the LICs left.
+     * @param system
+     * @return whether an interceptor should be launched for the track and parameters of system
+     */
+    public boolean decideLazily(AntiMissileSystem system) {
+        return decideLazily(system, COST_ORDER);
+    }
+
+    /**
+     * Decide like decide(), but evaluate the required LICs in the given order and stop as soon
+     * as the outcome no longer depends on the LICs left.
+     * @param system
+     * @param order all fifteen LICs in the order they should be evaluated
+     * @return whether an interceptor should be launched for the track and parameters of system
+     */
+    public boolean decideLazily(AntiMissileSystem system, int[] order) {
+        // LICs that are not required cannot influence the outcome, treat them as known
+        int known = ~requiredLics & PackedDecision.ALL;
+        int cmv = 0;
+        int evaluated = 0;
+        if (packedDecision.knownTrue((short) cmv, (short) known)) {
+            return decided(system, evaluated, true);
+        }
+        for (int lic : order) {
+            if ((known & (1 << lic)) != 0) {
+                continue;
+            }
+            if (system.lic(lic)) {
+                cmv |= 1 << lic;
+            }
+            known |= 1 << lic;
+            evaluated++;
+
+            if (packedDecision.knownFalse((short) cmv, (short) known)) {
+                return decided(system, evaluated, false);
+            }
+            if (packedDecision.knownTrue((short) cmv, (short) known)) {
+                return decided(system, evaluated, true);
+            }
+        }
+        return decided(system, evaluated, packedDecision.decide((short) cmv));
+    }
+
+    /**
+     * Record the number of LICs a lazy decision evaluated in the metrics of system, if set.
+     * @return decision
+     */
+    private static boolean decided(AntiMissileSystem system, int evaluated, boolean decision) {
+        DecisionMetrics metrics = system.metrics;
+        if (metrics != null) {
+            metrics.recordLazyDecision(evaluated);
+        }
+        return decision;
+    }
+}
@@ -0,0 +1,269 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Replays the tracks of a track file, see TrackReader, to audit recorded launch decisions,
+ * e.g. under candidate parameters or LCMs. Every configuration id of the file is registered
+ * with the parameters, LCM and PUV to decide its tracks with, and replay() decides every track
+ * and reports the decisions that differ from the recorded ones.
+ *
+ * The file is indexed once by reading the record headers only, then ranges of tracksPerTask
+ * tracks are decided concurrently in the pool, each range by its own memory mapped reader and
+ * one reused AntiMissileSystem per configuration. Nothing is allocated per track besides the
+ * entries of the tracks whose decision changed.
+ *
+ * register() must not be called during replay(), and the registered parameters, LCMs and
+ * PUVs must not be modified while they are registered.
+ */
+public class DecisionReplay {
+
+    // The region of a file mapped at once by the reader of a range of tracks.
+    public static final int REGION_SIZE = 1 << 26;
+
+    // Pool for parallel replay, null to replay sequentially.
+    public final ForkJoinPool pool;
+
+    // Number of tracks replayed by one task, a multiple of 64 so that concurrent tasks never
+    // share a word of the decision bitset.
+    public int tracksPerTask = 4096;
+
+    private final ConfigurationCache cache;
+
+    // The registrations, indexed by configuration id.
+    private Parameters[] parameters = new Parameters[0];
+    private Connector[][][] lcms = new Connector[0][][];
+    private boolean[][] puvs = new boolean[0][];
+    private Configuration[] configurations = new Configuration[0];
+
+    /**
+     *
+     * @param pool the pool to replay in, null for sequential replay
+     * @param cache the cache to take the compiled configurations from, null to compile them
+     * @return instance of DecisionReplay without registered configurations
+     */
+    public DecisionReplay(ForkJoinPool pool, ConfigurationCache cache) {
+        this.pool = pool;
+        this.cache = cache;
+    }
+
+    /**
+     * Decide the tracks of configId with the given parameters, LCM and PUV.
+     * @param configId a configuration id of the track files, not negative
+     * @param parameters
+     * @param lcm
+     * @param puv
+     */
+    public void register(int configId, Parameters parameters, Connector[][] lcm, boolean[] puv) {
+        if (configId < 0) {
+            throw new IllegalArgumentException("Negative configuration id " + configId);
+        }
+        if (configId >= configurations.length) {
+            int length = Math.max(configId + 1, 2 * configurations.length);
+            this.parameters = Arrays.copyOf(this.parameters, length);
+            lcms = Arrays.copyOf(lcms, length);
+            puvs = Arrays.copyOf(puvs, length);
+            configurations = Arrays.copyOf(configurations, length);
+        }
+        this.parameters[configId] = parameters;
+        lcms[configId] = lcm;
+        puvs[configId] = puv;
+        configurations[configId] = cache != null ? cache.get(parameters, lcm, puv)
+                : Configuration.compile(parameters, lcm, puv);
+    }
+
+    /**
+     * Decide every track of a track file and compare the decisions with the recorded ones.
+     * @param path the track file
+     * @param recorded the recorded decisions, bit i is set iff an interceptor was launched for
+     *                 the i-th track of the file
+     * @return the replayed decisions and the tracks whose decision changed
+     * @throws IOException if the file cannot be read, is not a track file, holds more than
+     * Integer.MAX_VALUE tracks or a track of a configuration id that is not registered, or
+     * loses tracks while it is replayed
+     */
+    public ReplayReport replay(Path path, BitSet recorded) throws IOException {
+        int chunk = Math.max(64, tracksPerTask & ~63);
+
+        // The offset of the first track of every range
+        long[] starts = new long[16];
+        int tracks = 0;
+        try (TrackReader reader = open(path)) {
+            while (reader.skip()) {
+                if (tracks == Integer.MAX_VALUE) {
+                    throw new IOException("More than " + Integer.MAX_VALUE + " tracks");
+                }
+                if (tracks % chunk == 0) {
+                    int range = tracks / chunk;
+                    if (range == starts.length) {
+                        starts = Arrays.copyOf(starts, 2 * range);
+                    }
+                    starts[range] = reader.offset;
+                }
+                tracks++;
+            }
+        }
+
+        int ranges = (tracks + chunk - 1) / chunk;
+        long[] words = new long[(tracks + 63) >>> 6];
+        Changes[] changes = new Changes[ranges];
+        ReplayTask task = new ReplayTask(path, recorded, starts, tracks, chunk, 0, ranges, words, changes);
+        if (pool == null || ranges < 2) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        if (task.failure != null) {
+            throw task.failure;
+        }
+
+        Changes all = new Changes();
+        for (Changes range : changes) {
+            all.addAll(range);
+        }
+        return new ReplayReport(tracks, BitSet.valueOf(words), all.size,
+                Arrays.copyOf(all.tracks, all.size), Arrays.copyOf(all.configIds, all.size),
+                Arrays.copyOf(all.offsets, all.size), Arrays.copyOf(all.decisions, all.size));
+    }
+
+    private static TrackReader open(Path path) throws IOException {
+        return new TrackReader(FileChannel.open(path, StandardOpenOption.READ), REGION_SIZE);
+    }
+
+    /**
+     * Decide the count tracks from the current position of reader, the first being track
+     * first of the file.
+     */
+    private void replay(TrackReader reader, int first, int count, BitSet recorded, long[] words,
+                        Changes changes) throws IOException {
+        AntiMissileSystem[] systems = new AntiMissileSystem[configurations.length];
+        for (int track = first; track < first + count; track++) {
+            if (!reader.next()) {
+                throw new IOException("Track " + track + " is missing, the file ends after " + track + " tracks");
+            }
+            int id = reader.configId;
+            if (id < 0 || id >= configurations.length || configurations[id] == null) {
+                throw new IOException("Track at offset " + reader.offset + " has the unregistered configuration id " + id);
+            }
+            AntiMissileSystem system = systems[id];
+            if (system == null) {
+                system = new AntiMissileSystem(0, null, null, parameters[id], lcms[id], puvs[id]);
+                system.setConfiguration(configurations[id]);
+                systems[id] = system;
+            }
+            system.numPoints = reader.numPoints;
+            system.xs = reader.xs;
+            system.ys = reader.ys;
+
+            DecisionPlan plan = configurations[id].plan;
+            boolean decision = plan.packedDecision().decide(plan.evaluate(system));
+            if (decision) {
+                words[track >>> 6] |= 1L << track;
+            }
+            if (decision != recorded.get(track)) {
+                changes.add(track, id, reader.offset, decision);
+            }
+        }
+    }
+
+    /**
+     * Splits a range of track ranges in halves until it is a single range, which is replayed.
+     */
+    private class ReplayTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path path;
+        private final BitSet recorded;
+        private final long[] starts;
+        private final int tracks;
+        private final int chunk;
+        private final int from;
+        private final int to;
+        private final long[] words;
+        private final Changes[] changes;
+
+        // The first failure of this task or its subtasks.
+        IOException failure;
+
+        ReplayTask(Path path, BitSet recorded, long[] starts, int tracks, int chunk, int from, int to,
+                   long[] words, Changes[] changes) {
+            this.path = path;
+            this.recorded = recorded;
+            this.starts = starts;
+            this.tracks = tracks;
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+            this.words = words;
+            this.changes = changes;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && pool != null) {
+                int middle = (from + to) >>> 1;
+                ReplayTask left = new ReplayTask(path, recorded, starts, tracks, chunk, from, middle, words, changes);
+                ReplayTask right = new ReplayTask(path, recorded, starts, tracks, chunk, middle, to, words, changes);
+                invokeAll(left, right);
+                failure = left.failure != null ? left.failure : right.failure;
+                return;
+            }
+            try (TrackReader reader = open(path)) {
+                for (int range = from; range < to; range++) {
+                    int first = range * chunk;
+                    Changes rangeChanges = new Changes();
+                    reader.seek(starts[range]);
+                    replay(reader, first, Math.min(chunk, tracks - first), recorded, words, rangeChanges);
+                    changes[range] = rangeChanges;
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * The tracks of a range whose decision changed, in the order of the file.
+     */
+    private static class Changes {
+        int size;
+        int[] tracks = new int[8];
+        int[] configIds = new int[8];
+        long[] offsets = new long[8];
+        boolean[] decisions = new boolean[8];
+
+        void add(int track, int configId, long offset, boolean decision) {
+            if (size == tracks.length) {
+                grow(2 * size);
+            }
+            tracks[size] = track;
+            configIds[size] = configId;
+            offsets[size] = offset;
+            decisions[size] = decision;
+            size++;
+        }
+
+        void addAll(Changes other) {
+            if (size + other.size > tracks.length) {
+                grow(Math.max(size + other.size, 2 * tracks.length));
+            }
+            System.arraycopy(other.tracks, 0, tracks, size, other.size);
+            System.arraycopy(other.configIds, 0, configIds, size, other.size);
+            System.arraycopy(other.offsets, 0, offsets, size, other.size);
+            System.arraycopy(other.decisions, 0, decisions, size, other.size);
+            size += other.size;
+        }
+
+        private void grow(int length) {
+            tracks = Arrays.copyOf(tracks, length);
+            configIds = Arrays.copyOf(configIds, length);
+            offsets = Arrays.copyOf(offsets, length);
+            decisions = Arrays.copyOf(decisions, length);
+        }
+    }
+}
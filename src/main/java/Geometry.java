@@ -0,0 +1,163 @@
+/**
+ * Geometric predicates shared by the LICs of AntiMissileSystem and StreamingAntiMissileSystem.
+ *
+ * The LICs only compare a measured length, area or radius with a threshold, so the kernels
+ * compare squares instead and never take a square root, call pow or acos:
+ *  - lengths are compared as squared distances against signedSquare(threshold);
+ *  - triangle areas are compared as the absolute cross product, twice the area;
+ *  - the smallest circle enclosing a triple is the circle over its longest side unless the
+ *    triangle is acute, in which case its circumradius R = abc / (4K), K the area, is
+ *    compared as (abc)^2 against (4K)^2 r^2 = 4 cross^2 r^2;
+ *  - angles are compared through their cosine, the squared dot product against
+ *    cos^2(limit) times the squared lengths of the two vectors.
+ *
+ * Numerical tolerance: squaring and multiplying round differently from taking roots, so a
+ * kernel can disagree with the square root formulation only when the measured value is within
+ * a few ulps of the threshold. Degenerate input is decided exactly instead of through 0/0 or
+ * the square root of a negative rounding error: collinear and coincident triples have zero
+ * area and are enclosed by the circle over their two outermost points. The squared quantities
+ * overflow for coordinates beyond about 1e50.
+ */
+public final class Geometry {
+
+    private Geometry() {
+    }
+
+    /**
+     *
+     * @return the squared euclidean distance between (x1, y1) and (x2, y2)
+     */
+    public static double distanceSquared(double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Square a threshold keeping its sign, so that value > threshold iff
+     * value^2 > signedSquare(threshold) and value < threshold iff
+     * value^2 < signedSquare(threshold) for any value >= 0.
+     * @param threshold
+     * @return threshold^2 with the sign of threshold
+     */
+    public static double signedSquare(double threshold) {
+        return threshold * Math.abs(threshold);
+    }
+
+    /**
+     *
+     * @return the cross product of b - a and c - a, twice the signed area of the triangle a, b, c
+     */
+    public static double cross(double ax, double ay, double bx, double by, double cx, double cy) {
+        return (bx - ax) * (cy - ay) - (cx - ax) * (by - ay);
+    }
+
+    /**
+     *
+     * @return twice the area of the triangle a, b, c
+     */
+    public static double doubledArea(double ax, double ay, double bx, double by, double cx, double cy) {
+        return Math.abs(cross(ax, ay, bx, by, cx, cy));
+    }
+
+    /**
+     * Smallest enclosing circle test for a triple. If the triangle is right, obtuse or
+     * degenerate the longest side is a diameter of the smallest enclosing circle, otherwise the
+     * circumcircle is: its radius abc / (2 |cross|) is compared as (abc)^2 <= 4 cross^2 r^2.
+     * @param radiusSquared signedSquare() of the radius
+     * @return true if all three points can be contained within or on a circle of the radius
+     */
+    public static boolean inCircle(double ax, double ay, double bx, double by, double cx, double cy,
+                                   double radiusSquared) {
+        double lengthAB = distanceSquared(ax, ay, bx, by);
+        double lengthAC = distanceSquared(ax, ay, cx, cy);
+        double lengthBC = distanceSquared(bx, by, cx, cy);
+
+        double longest = Math.max(lengthAB, Math.max(lengthAC, lengthBC));
+        double diameter = 4 * radiusSquared;
+
+        // If the longest side does not fit, no circle of the radius contains its endpoints
+        if (longest > diameter) {
+            return false;
+        }
+        // If the angle opposite the longest side is at least PI/2, including collinear and
+        // coincident points, the circle over the longest side contains the third point
+        if (2 * longest >= lengthAB + lengthAC + lengthBC) {
+            return true;
+        }
+        double cross = cross(ax, ay, bx, by, cx, cy);
+        return lengthAB * lengthAC * lengthBC <= diameter * cross * cross;
+    }
+
+    /**
+     *
+     * @param distanceSquared signedSquare() of the distance
+     * @return whether (px, py) lies further than the distance from the line through (fx, fy)
+     * and (lx, ly), which must not coincide
+     */
+    public static boolean fartherFromLine(double px, double py, double fx, double fy, double lx, double ly,
+                                          double distanceSquared) {
+        double cross = cross(fx, fy, lx, ly, px, py);
+        return cross * cross > distanceSquared * distanceSquared(fx, fy, lx, ly);
+    }
+
+    /**
+     * The cosine to pass to angleLess() for an angle limit. Limits above PI, which every angle
+     * is less than, and below 0, which no angle is less than, are mapped to infinities.
+     * @param limit
+     * @return cos(limit)
+     */
+    public static double cosAngle(double limit) {
+        if (limit > Math.PI) {
+            return Double.NEGATIVE_INFINITY;
+        } else if (limit < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.cos(limit);
+    }
+
+    /**
+     * As acos is decreasing the angle is less than the limit iff the cosine of the angle,
+     * dot / (|ba| |bc|), is greater than cos(limit). The comparison is made on the squares after
+     * checking the signs, without inverse trigonometry or square roots.
+     * @param cosLimit cosAngle() of the limit
+     * @return whether the angle at vertex b formed by a and c is less than the limit, false if
+     * a or c coincides with b and the angle is undefined
+     */
+    public static boolean angleLess(double ax, double ay, double bx, double by, double cx, double cy,
+                                    double cosLimit) {
+        // Calculate the two vectors using b as vertex
+        double vector1x = ax - bx;
+        double vector1y = ay - by;
+        double vector2x = cx - bx;
+        double vector2y = cy - by;
+
+        double lengths = (vector1x * vector1x + vector1y * vector1y) * (vector2x * vector2x + vector2y * vector2y);
+        if (lengths == 0) {
+            return false;
+        }
+        double dotProduct = vector1x * vector2x + vector1y * vector2y;
+        double bound = cosLimit * cosLimit * lengths;
+        if (cosLimit >= 0) {
+            return dotProduct > 0 && dotProduct * dotProduct > bound;
+        }
+        return dotProduct >= 0 || dotProduct * dotProduct < bound;
+    }
+
+    /**
+     *
+     * @return the quadrant (0-3) of the point, ties resolved in favour of the lower quadrant
+     * except that a point on the negative y axis belongs to quadrant III (index 2)
+     */
+    public static int quadrant(double x, double y) {
+        if (x >= 0) {
+            if (y >= 0) {
+                return 0;
+            } else if (x == 0) {
+                return 2;
+            }
+            return 3;
+        }
+        return y >= 0 ? 1 : 2;
+    }
+}
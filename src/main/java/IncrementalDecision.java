@@ -0,0 +1,136 @@
+/**
+ * Keeps a PUM and FUV up to date with a CMV that changes a few LICs at a time. Cell (i, j)
+ * of the PUM depends only on cmv[i] and cmv[j], so when LIC k changes only row k and column
+ * k are recomputed, 29 cells instead of 225. Every row keeps the number of its false cells,
+ * which decides its FUV entry without a scan of the row, and the number of false FUV entries
+ * is kept as well, so that decide() is a single comparison.
+ *
+ * The cmv, pum and fuv arrays are shared with the owner, e.g. StreamingAntiMissileSystem,
+ * which sets the CMV and reports the LICs it changed to update(). pum and fuv must only be
+ * modified through this class, and lcm and puv not at all.
+ */
+public final class IncrementalDecision {
+
+    private final Connector[][] lcm;
+    private final boolean[] puv;
+    private final boolean[] cmv;
+    private final boolean[][] pum;
+    private final boolean[] fuv;
+
+    // The number of false cells per row of the PUM.
+    private final int[] falseCells = new int[15];
+
+    // The number of false entries of the FUV.
+    private int falseEntries;
+
+    /**
+     *
+     * @param lcm
+     * @param puv
+     * @param cmv the CMV, read by update() and recompute()
+     * @param pum set from the CMV
+     * @param fuv set from the PUM
+     * @return instance of IncrementalDecision with pum and fuv computed from the current cmv
+     */
+    public IncrementalDecision(Connector[][] lcm, boolean[] puv, boolean[] cmv, boolean[][] pum, boolean[] fuv) {
+        this.lcm = lcm;
+        this.puv = puv;
+        this.cmv = cmv;
+        this.pum = pum;
+        this.fuv = fuv;
+        recompute();
+    }
+
+    /**
+     * Compute every cell of the PUM and every entry of the FUV from the CMV.
+     */
+    public void recompute() {
+        for (int i = 0; i < 15; i++) {
+            int count = 0;
+            for (int j = 0; j < 15; j++) {
+                pum[i][j] = cell(i, j);
+                if (!pum[i][j]) {
+                    count++;
+                }
+            }
+            falseCells[i] = count;
+        }
+        falseEntries = 0;
+        for (int i = 0; i < 15; i++) {
+            fuv[i] = !puv[i] || falseCells[i] == 0;
+            if (!fuv[i]) {
+                falseEntries++;
+            }
+        }
+    }
+
+    /**
+     * Update the PUM and FUV after the CMV entries in changed have been set. Entries that are
+     * reported but did not change only cost the comparison of their cells.
+     * @param changed bit i is set iff cmv[i] may have changed since the last update
+     */
+    public void update(short changed) {
+        int rows = 0;
+        int remaining = changed & PackedDecision.ALL;
+        while (remaining != 0) {
+            int k = Integer.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            for (int j = 0; j < 15; j++) {
+                if (updateCell(k, j)) {
+                    rows |= 1 << k;
+                }
+                if (updateCell(j, k)) {
+                    rows |= 1 << j;
+                }
+            }
+        }
+        while (rows != 0) {
+            int i = Integer.numberOfTrailingZeros(rows);
+            rows &= rows - 1;
+            boolean entry = !puv[i] || falseCells[i] == 0;
+            if (entry != fuv[i]) {
+                fuv[i] = entry;
+                falseEntries += entry ? -1 : 1;
+            }
+        }
+    }
+
+    /**
+     *
+     * @return whether an interceptor should be launched, i.e. whether the FUV is all true
+     */
+    public boolean decide() {
+        return falseEntries == 0;
+    }
+
+    /**
+     *
+     * @return the number of false entries of the FUV
+     */
+    public int falseEntries() {
+        return falseEntries;
+    }
+
+    /**
+     * Set cell (i, j) of the PUM from the CMV.
+     * @return whether the cell changed
+     */
+    private boolean updateCell(int i, int j) {
+        boolean value = cell(i, j);
+        if (value == pum[i][j]) {
+            return false;
+        }
+        pum[i][j] = value;
+        falseCells[i] += value ? -1 : 1;
+        return true;
+    }
+
+    private boolean cell(int i, int j) {
+        if (lcm[i][j] == Connector.ANDD) {
+            return cmv[i] && cmv[j];
+        } else if (lcm[i][j] == Connector.ORR) {
+            return cmv[i] || cmv[j];
+        }
+        return true;
+    }
+}
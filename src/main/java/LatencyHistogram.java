@@ -0,0 +1,140 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in nanoseconds in the style of HdrHistogram: values below
+ * SUB_BUCKETS are counted exactly, larger values in buckets of SUB_BUCKETS / 2 linear steps
+ * per power of two, so every value is counted with a relative error below 2 / SUB_BUCKETS
+ * and all longs fit in under a thousand buckets.
+ *
+ * record() is lock-free and can be called from any number of threads, snapshot() copies the
+ * counts without stopping them.
+ */
+public class LatencyHistogram {
+
+    // The number of exact values and twice the number of buckets per power of two.
+    public static final int SUB_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int HALF = SUB_BUCKETS / 2;
+
+    // The number of buckets, enough for Long.MAX_VALUE.
+    public static final int BUCKETS = SUB_BUCKETS + (64 - SUB_BUCKET_BITS) * HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Count a latency.
+     * @param nanos negative values are counted as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        total.addAndGet(value);
+        long largest = max.get();
+        while (value > largest && !max.compareAndSet(largest, value)) {
+            largest = max.get();
+        }
+    }
+
+    /**
+     *
+     * @return a copy of the current counts
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, total.get(), max.get());
+    }
+
+    /**
+     *
+     * @param value not negative
+     * @return the bucket value is counted in
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + (shift - 1) * HALF + (int) (value >>> shift) - HALF;
+    }
+
+    /**
+     *
+     * @param bucket
+     * @return the largest value counted in the bucket
+     */
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / HALF + 1;
+        long lowest = (long) ((bucket - SUB_BUCKETS) % HALF + HALF) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Immutable counts of a LatencyHistogram at one point in time.
+     */
+    public static final class Snapshot {
+
+        // The number of values per bucket, see LatencyHistogram.
+        private final long[] counts;
+
+        // The number of values, their sum and the largest value.
+        public final long count;
+        public final long total;
+        public final long max;
+
+        Snapshot(long[] counts, long count, long total, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         *
+         * @return the mean value, 0 if there are none
+         */
+        public double mean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        /**
+         *
+         * @param percentile between 0 and 100
+         * @return a value that at least percentile percent of the values are less than or equal
+         * to, within the precision of the buckets, 0 if there are no values
+         */
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         *
+         * @param bucket
+         * @return the number of values counted in the bucket
+         */
+        public long count(int bucket) {
+            return counts[bucket];
+        }
+    }
+}
@@ -0,0 +1,204 @@
+import java.util.Arrays;
+
+/**
+ * The witnesses of the LICs that were met: the points that satisfied a LIC and the value
+ * measured on them next to the threshold it was compared with, so that a decision can be
+ * explained without evaluating the LICs again. Set an instance as the witnesses of an
+ * AntiMissileSystem, from then on lic0() to lic14() report the points that met them from the
+ * same scan that decides them, and lic(), populateCMV() and decideLazily() forget the
+ * witnesses of a LIC before evaluating it again.
+ *
+ * Everything is stored in arrays allocated once, a LIC has at most MAX_WITNESSES witnesses
+ * of at most MAX_POINTS point indices each:
+ *  - LICs 0, 5, 7 and 11: a pair of points;
+ *  - LICs 1, 2, 3, 8, 9 and 10: a triple of points, the vertex in the middle for 2 and 9;
+ *  - LIC 4: the first and last point of the window;
+ *  - LIC 6: the first and last point of the window and a point too far from their line;
+ *  - LICs 12, 13 and 14: two witnesses, one per condition. Both witnesses of LIC 13 are the
+ *    same triple, whose radius is greater than RADIUS1 and at most RADIUS2.
+ * The measured values are distances, radii of the smallest enclosing circle, angles in
+ * radians, areas, the number of quadrants for LIC 4 and the change of x for LICs 5 and 11.
+ * The thresholds are the parameters they were compared with, PI - EPSILON for the angles and
+ * 0 for the change of x.
+ *
+ * An instance belongs to one AntiMissileSystem. The LICs write disjoint parts of it, so
+ * populateCMV(ForkJoinPool) can evaluate them concurrently.
+ */
+public class LicWitnesses {
+
+    public static final int MAX_WITNESSES = 2;
+    public static final int MAX_POINTS = 3;
+
+    // The number of witnesses per LIC, 0 if it was not met or not evaluated.
+    private final int[] counts = new int[15];
+
+    // Per witness, at index lic * MAX_WITNESSES + witness: the number of points, the measured
+    // value and the threshold. The points of a witness start at that index times MAX_POINTS.
+    private final int[] sizes = new int[15 * MAX_WITNESSES];
+    private final int[] points = new int[15 * MAX_WITNESSES * MAX_POINTS];
+    private final double[] measured = new double[15 * MAX_WITNESSES];
+    private final double[] thresholds = new double[15 * MAX_WITNESSES];
+
+    /**
+     * Forget the witnesses of every LIC.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    /**
+     * Forget the witnesses of a LIC, e.g. before it is evaluated again.
+     * @param lic
+     */
+    public void clear(int lic) {
+        counts[lic] = 0;
+    }
+
+    /**
+     *
+     * @param lic
+     * @return the number of witnesses recorded by the last evaluation of the LIC, 0 if it was
+     * not met
+     */
+    public int count(int lic) {
+        return counts[lic];
+    }
+
+    /**
+     *
+     * @param lic
+     * @param witness less than count(lic)
+     * @return the number of points of the witness
+     */
+    public int size(int lic, int witness) {
+        return sizes[lic * MAX_WITNESSES + witness];
+    }
+
+    /**
+     *
+     * @param lic
+     * @param witness less than count(lic)
+     * @param point less than size(lic, witness)
+     * @return the index of the point in the track
+     */
+    public int point(int lic, int witness, int point) {
+        return points[(lic * MAX_WITNESSES + witness) * MAX_POINTS + point];
+    }
+
+    /**
+     *
+     * @param lic
+     * @param witness less than count(lic)
+     * @return the value measured on the points of the witness
+     */
+    public double measured(int lic, int witness) {
+        return measured[lic * MAX_WITNESSES + witness];
+    }
+
+    /**
+     *
+     * @param lic
+     * @param witness less than count(lic)
+     * @return the threshold the measured value was compared with
+     */
+    public double threshold(int lic, int witness) {
+        return thresholds[lic * MAX_WITNESSES + witness];
+    }
+
+    /**
+     * Record the pair i, j whose distance was compared with length.
+     */
+    void distance(int lic, int witness, double[] xs, double[] ys, int i, int j, double length) {
+        record(lic, witness, Math.sqrt(Geometry.distanceSquared(xs[i], ys[i], xs[j], ys[j])), length, i, j);
+    }
+
+    /**
+     * Record the pair i, j within which the x coordinate decreases.
+     */
+    void decrease(int lic, double[] xs, int i, int j) {
+        record(lic, 0, xs[j] - xs[i], 0, i, j);
+    }
+
+    /**
+     * Record the triple whose area was compared with area.
+     */
+    void area(int lic, int witness, double[] xs, double[] ys, int i, int i2, int i3, double area) {
+        double doubled = Geometry.doubledArea(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3]);
+        record(lic, witness, doubled / 2, area, i, i2, i3);
+    }
+
+    /**
+     * Record the triple whose smallest enclosing circle was compared with radius.
+     */
+    void radius(int lic, int witness, double[] xs, double[] ys, int i, int i2, int i3, double radius) {
+        record(lic, witness, enclosingRadius(xs, ys, i, i2, i3), radius, i, i2, i3);
+    }
+
+    /**
+     * Record the triple whose angle at vertex i2 was less than limit.
+     */
+    void angle(int lic, double[] xs, double[] ys, int i, int i2, int i3, double limit) {
+        double vector1x = xs[i] - xs[i2];
+        double vector1y = ys[i] - ys[i2];
+        double vector2x = xs[i3] - xs[i2];
+        double vector2y = ys[i3] - ys[i2];
+        double cos = (vector1x * vector2x + vector1y * vector2y)
+                / Math.sqrt((vector1x * vector1x + vector1y * vector1y) * (vector2x * vector2x + vector2y * vector2y));
+        record(lic, 0, Math.acos(Math.max(-1, Math.min(1, cos))), limit, i, i2, i3);
+    }
+
+    /**
+     * Record the window of LIC 4 from first to last, which lies in quadrants quadrants.
+     */
+    void quadrants(int first, int last, int quadrants, int qUads) {
+        record(4, 0, quadrants, qUads, first, last);
+    }
+
+    /**
+     * Record the window of LIC 6 from first to last and its point c, which lies too far from
+     * the line through first and last, or from first if they coincide.
+     */
+    void window(double[] xs, double[] ys, int first, int last, int c, double dist) {
+        double distance;
+        if (xs[first] == xs[last] && ys[first] == ys[last]) {
+            distance = Math.sqrt(Geometry.distanceSquared(xs[first], ys[first], xs[c], ys[c]));
+        } else {
+            double cross = Geometry.cross(xs[first], ys[first], xs[last], ys[last], xs[c], ys[c]);
+            distance = Math.abs(cross) / Math.sqrt(Geometry.distanceSquared(xs[first], ys[first], xs[last], ys[last]));
+        }
+        record(6, 0, distance, dist, first, last, c);
+    }
+
+    /**
+     *
+     * @return the radius of the smallest circle enclosing the points i, i2 and i3
+     */
+    private static double enclosingRadius(double[] xs, double[] ys, int i, int i2, int i3) {
+        double lengthAB = Geometry.distanceSquared(xs[i], ys[i], xs[i2], ys[i2]);
+        double lengthAC = Geometry.distanceSquared(xs[i], ys[i], xs[i3], ys[i3]);
+        double lengthBC = Geometry.distanceSquared(xs[i2], ys[i2], xs[i3], ys[i3]);
+        double longest = Math.max(lengthAB, Math.max(lengthAC, lengthBC));
+        if (2 * longest >= lengthAB + lengthAC + lengthBC) {
+            return Math.sqrt(longest) / 2;
+        }
+        double cross = Geometry.cross(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3]);
+        return Math.sqrt(Math.max(longest / 4, lengthAB * lengthAC * lengthBC / (4 * cross * cross)));
+    }
+
+    private void record(int lic, int witness, double value, double threshold, int first, int second) {
+        int slot = lic * MAX_WITNESSES + witness;
+        sizes[slot] = 2;
+        points[slot * MAX_POINTS] = first;
+        points[slot * MAX_POINTS + 1] = second;
+        measured[slot] = value;
+        thresholds[slot] = threshold;
+        counts[lic] = witness + 1;
+    }
+
+    private void record(int lic, int witness, double value, double threshold, int first, int second, int third) {
+        record(lic, witness, value, threshold, first, second);
+        int slot = lic * MAX_WITNESSES + witness;
+        sizes[slot] = 3;
+        points[slot * MAX_POINTS + 2] = third;
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Decision core working on bitsets instead of boolean arrays. The CMV, PUV and FUV are
+ * shorts with LIC i in bit i, and the LCM is encoded once as two masks per row: bit j of
+ * andMasks[i] is set iff lcm[i][j] is ANDD, and likewise for orMasks and ORR.
+ *
+ * Row i of the PUM is all true iff every ANDD cell and every ORR cell of the row is true:
+ *  - if cmv[i] is true, every ORR cell is true and the ANDD cells need cmv[j] for each j in
+ *    andMasks[i];
+ *  - if cmv[i] is false, every ANDD cell is false and the ORR cells need cmv[j] for each j in
+ *    orMasks[i].
+ * So the FUV and the launch decision follow from a few word operations per row, without
+ * building the PUM and without allocating.
+ */
+public final class PackedDecision {
+
+    // All fifteen LICs.
+    public static final short ALL = (short) 0x7FFF;
+
+    // Bit j of andMasks[i] is set iff lcm[i][j] is ANDD.
+    private final short[] andMasks = new short[15];
+
+    // Bit j of orMasks[i] is set iff lcm[i][j] is ORR.
+    private final short[] orMasks = new short[15];
+
+    // The Preliminary Unlocking Vector (PUV) as a bitset.
+    private final short puv;
+
+    /**
+     *
+     * @param lcm
+     * @param puv
+     * @return instance of PackedDecision for the configuration
+     */
+    public PackedDecision(Connector[][] lcm, boolean[] puv) {
+        for (int i = 0; i < 15; i++) {
+            int and = 0;
+            int or = 0;
+            for (int j = 0; j < 15; j++) {
+                if (lcm[i][j] == Connector.ANDD) {
+                    and |= 1 << j;
+                } else if (lcm[i][j] == Connector.ORR) {
+                    or |= 1 << j;
+                }
+            }
+            andMasks[i] = (short) and;
+            orMasks[i] = (short) or;
+        }
+        this.puv = pack(puv);
+    }
+
+    /**
+     *
+     * @param vector a 15-element vector
+     * @return the vector as a bitset with element i in bit i
+     */
+    public static short pack(boolean[] vector) {
+        int packed = 0;
+        for (int i = 0; i < 15; i++) {
+            if (vector[i]) {
+                packed |= 1 << i;
+            }
+        }
+        return (short) packed;
+    }
+
+    /**
+     *
+     * @param packed a bitset of 15 elements
+     * @param vector set to the elements of the bitset
+     */
+    public static void unpack(short packed, boolean[] vector) {
+        for (int i = 0; i < 15; i++) {
+            vector[i] = (packed & (1 << i)) != 0;
+        }
+    }
+
+    /**
+     *
+     * @param cmv
+     * @return the FUV for the CMV, bit i is set iff PUV[i] is false or row i of the PUM is all true
+     */
+    public short fuv(short cmv) {
+        int missing = ~cmv & ALL;
+        int fuv = ~puv & ALL;
+        for (int i = 0; i < 15; i++) {
+            if (rowAllTrue(i, cmv, missing)) {
+                fuv |= 1 << i;
+            }
+        }
+        return (short) fuv;
+    }
+
+    /**
+     *
+     * @param cmv
+     * @return whether an interceptor should be launched, i.e. whether every row unlocked by the
+     * PUV is all true in the PUM
+     */
+    public boolean decide(short cmv) {
+        int missing = ~cmv & ALL;
+        int unlocked = puv;
+        while (unlocked != 0) {
+            int i = Integer.numberOfTrailingZeros(unlocked);
+            if (!rowAllTrue(i, cmv, missing)) {
+                return false;
+            }
+            unlocked &= unlocked - 1;
+        }
+        return true;
+    }
+
+    /**
+     * Whether the decision is already false when only some LICs are known. An unlocked row
+     * is certainly false if one of its ANDD LICs is known not met, whatever its own LIC, or if
+     * its own LIC is known not met and it has an ANDD cell or a known unmet ORR LIC.
+     * @param cmv the known LICs that are met
+     * @param known the LICs whose result is known
+     * @return true if some row unlocked by the PUV is false for every value of the unknown LICs
+     */
+    public boolean knownFalse(short cmv, short known) {
+        int notMet = known & ~cmv & ALL;
+        int unlocked = puv;
+        while (unlocked != 0) {
+            int i = Integer.numberOfTrailingZeros(unlocked);
+            if ((andMasks[i] & notMet) != 0) {
+                return true;
+            }
+            if ((notMet & (1 << i)) != 0 && (andMasks[i] != 0 || (orMasks[i] & notMet) != 0)) {
+                return true;
+            }
+            unlocked &= unlocked - 1;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the decision is already true when only some LICs are known. An unlocked row is
+     * certainly true if its ANDD LICs are known met and its own LIC is known met, or if it has
+     * no ANDD cell and its ORR LICs are known met.
+     * @param cmv the known LICs that are met
+     * @param known the LICs whose result is known
+     * @return true if every row unlocked by the PUV is true for every value of the unknown LICs
+     */
+    public boolean knownTrue(short cmv, short known) {
+        int notMet = ~(known & cmv) & ALL;
+        int unlocked = puv;
+        while (unlocked != 0) {
+            int i = Integer.numberOfTrailingZeros(unlocked);
+            boolean ownMet = (notMet & (1 << i)) == 0;
+            if (!(ownMet && (andMasks[i] & notMet) == 0)
+                    && !(andMasks[i] == 0 && (orMasks[i] & notMet) == 0)) {
+                return false;
+            }
+            unlocked &= unlocked - 1;
+        }
+        return true;
+    }
+
+    private boolean rowAllTrue(int i, short cmv, int missing) {
+        if ((cmv & (1 << i)) != 0) {
+            return (andMasks[i] & missing) == 0;
+        }
+        return andMasks[i] == 0 && (orMasks[i] & missing) == 0;
+    }
+}
@@ -0,0 +1,445 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates the LICs of one track under many parameter variants, e.g. to tune LENGTH1,
+ * RADIUS1, AREA1, EPSILON or DIST. The geometry is computed once per stride instead of once
+ * per variant: for the pairs or triples of every stride the LICs compare against, the
+ * measure they compare (squared distance, doubled area, squared radius of the smallest
+ * enclosing circle, cosine of the angle, or the largest squared distance of a LIC 6 window) is
+ * computed and sorted on first use. A variant is then answered by comparing its threshold with
+ * the largest or smallest measures, or by a binary search for LIC 13, which needs a triple
+ * with a radius between RADIUS1 and RADIUS2.
+ *
+ * The results are the same as AntiMissileSystem's: squared distances and doubled areas are
+ * compared exactly as the LICs compare them, and the measures that are within a relative
+ * 1e-9 of a threshold are checked again with the predicate of the LIC, so rounding can not
+ * move them to the other side. LICs 4, 5 and 11 do not depend on a threshold and are
+ * evaluated by an AntiMissileSystem once per Q_PTS and QUADS, and G_PTS. So are LICs with
+ * strides outside of the specification, which are rare enough not to be worth sorting.
+ *
+ * The measures of the strides used last are kept, so a sweep that also varies the strides
+ * computes each stride once as long as at most MAX_STRIDES of them are in use.
+ *
+ * An instance is not thread safe.
+ */
+public class ParameterSweep {
+
+    // The number of strides whose measures are kept.
+    public static final int MAX_STRIDES = 32;
+
+    // Measures within this relative distance of a threshold are checked with the LIC predicate.
+    private static final double TOLERANCE = 1e-9;
+
+    // The kinds of measures.
+    private static final int DISTANCE = 0;
+    private static final int AREA = 1;
+    private static final int RADIUS = 2;
+    private static final int ANGLE = 3;
+    private static final int WINDOW = 4;
+
+    // The kinds of queries.
+    private static final int GREATER = 0;
+    private static final int LESS = 1;
+    private static final int BETWEEN = 2;
+
+    public final int numPoints;
+    public final double[] xs;
+    public final double[] ys;
+
+    // Evaluates the LICs that are not answered from measures.
+    private final AntiMissileSystem system;
+
+    // The measures of the strides used last, the most recently used last.
+    private final List<Measures> strides = new ArrayList<Measures>();
+
+    // LICs 4, 5 and 11 for the parameters they were last evaluated with.
+    private long lic4Key = -1;
+    private boolean lic4;
+    private int lic5Known = -1;
+    private long lic11Key = -1;
+    private boolean lic11;
+
+    /**
+     *
+     * @param numPoints
+     * @param xs x coordinates of the data points, at least numPoints long, must not be modified
+     * @param ys y coordinates of the data points, at least numPoints long, must not be modified
+     * @return instance of ParameterSweep
+     */
+    public ParameterSweep(int numPoints, double[] xs, double[] ys) {
+        this.numPoints = numPoints;
+        this.xs = xs;
+        this.ys = ys;
+        this.system = new AntiMissileSystem(numPoints, xs, ys, null, null, null);
+    }
+
+    /**
+     *
+     * @param parameters
+     * @param decision the LCM and PUV
+     * @return whether an interceptor should be launched for the track under parameters
+     */
+    public boolean decide(Parameters parameters, PackedDecision decision) {
+        return decision.decide(evaluate(parameters));
+    }
+
+    /**
+     *
+     * @param parameters
+     * @return the CMV of the track under parameters, LIC i in bit i
+     */
+    public short evaluate(Parameters parameters) {
+        CompiledParameters p = new CompiledParameters(parameters);
+        system.parameters = parameters;
+        system.setCompiledParameters(p);
+
+        int cmv = 0;
+        for (int lic = 0; lic < 15; lic++) {
+            if (lic(lic, p)) {
+                cmv |= 1 << lic;
+            }
+        }
+        return (short) cmv;
+    }
+
+    private boolean lic(int lic, CompiledParameters p) {
+        switch (lic) {
+            case 0: return measures(DISTANCE, 1, 0).any(GREATER, p.length1Squared, 0);
+            case 1: return p.possible(1) && measures(RADIUS, 1, 1).any(GREATER, p.radius1Squared, 0);
+            case 2: return measures(ANGLE, 1, 1).any(GREATER, p.cosAngleLimit, 0);
+            case 3: return measures(AREA, 1, 1).any(GREATER, p.doubledArea1, 0);
+            case 4: {
+                long key = (long) p.qPts << 32 | (p.qUads & 0xFFFFFFFFL);
+                if (key != lic4Key) {
+                    lic4 = system.lic4();
+                    lic4Key = key;
+                }
+                return lic4;
+            }
+            case 5:
+                if (lic5Known < 0) {
+                    lic5Known = system.lic5() ? 1 : 0;
+                }
+                return lic5Known == 1;
+            case 6:
+                if (numPoints < 3) {
+                    return false;
+                }
+                if (p.nPTS < 3 || p.nPTS > numPoints) {
+                    return system.lic6();
+                }
+                return measures(WINDOW, p.nPTS, 0).any(GREATER, p.distSquared, 0);
+            case 7:
+                if (numPoints < 3) {
+                    return false;
+                }
+                return p.kGap < 1 ? system.lic7() : measures(DISTANCE, p.kGap, 0).any(GREATER, p.length1Squared, 0);
+            case 8:
+                if (numPoints < 5 || !p.possible(8) || p.aPTS + p.bPTS > numPoints - 3) {
+                    return false;
+                }
+                return measures(RADIUS, p.aGap, p.bGap).any(GREATER, p.radius1Squared, 0);
+            case 9:
+                if (numPoints < 5) {
+                    return false;
+                }
+                return p.cGap < 1 || p.dGap < 1 ? system.lic9()
+                        : measures(ANGLE, p.cGap, p.dGap).any(GREATER, p.cosAngleLimit, 0);
+            case 10:
+                if (numPoints < 5) {
+                    return false;
+                }
+                return p.eGap < 1 || p.fGap < 1 ? system.lic10()
+                        : measures(AREA, p.eGap, p.fGap).any(GREATER, p.doubledArea1, 0);
+            case 11: {
+                if (numPoints < 3) {
+                    return false;
+                }
+                if (p.gGap != lic11Key) {
+                    lic11 = system.lic11();
+                    lic11Key = p.gGap;
+                }
+                return lic11;
+            }
+            case 12: {
+                if (numPoints < 3) {
+                    return false;
+                }
+                if (p.kGap < 1) {
+                    return system.lic12();
+                }
+                Measures distances = measures(DISTANCE, p.kGap, 0);
+                return distances.any(GREATER, p.length1Squared, 0) && distances.any(LESS, p.length2Squared, 0);
+            }
+            case 13:
+                if (!p.possible(13) || numPoints < 5) {
+                    return false;
+                }
+                return p.aGap < 1 || p.bGap < 1 ? system.lic13()
+                        : measures(RADIUS, p.aGap, p.bGap).any(BETWEEN, p.radius1Squared, p.radius2Squared);
+            case 14: {
+                if (numPoints < 5) {
+                    return false;
+                }
+                if (p.eGap < 1 || p.fGap < 1) {
+                    return system.lic14();
+                }
+                Measures areas = measures(AREA, p.eGap, p.fGap);
+                return areas.any(GREATER, p.doubledArea1, 0) && areas.any(LESS, p.doubledArea2, 0);
+            }
+            default: throw new IllegalArgumentException("There is no LIC " + lic);
+        }
+    }
+
+    /**
+     *
+     * @return the measures of the stride, computed if they are not kept
+     */
+    private Measures measures(int kind, int gap1, int gap2) {
+        for (int i = strides.size() - 1; i >= 0; i--) {
+            Measures measures = strides.get(i);
+            if (measures.kind == kind && measures.gap1 == gap1 && measures.gap2 == gap2) {
+                if (i != strides.size() - 1) {
+                    strides.remove(i);
+                    strides.add(measures);
+                }
+                return measures;
+            }
+        }
+        if (strides.size() == MAX_STRIDES) {
+            strides.remove(0);
+        }
+        Measures measures = new Measures(kind, gap1, gap2);
+        strides.add(measures);
+        return measures;
+    }
+
+    /**
+     * The measures of the pairs, triples or windows of one stride, in ascending order.
+     */
+    private class Measures {
+        final int kind;
+        final int gap1;
+        final int gap2;
+
+        // The measures in ascending order, and the first point of the pair, triple or window
+        // of each.
+        final double[] sorted;
+        final int[] elements;
+
+        Measures(int kind, int gap1, int gap2) {
+            this.kind = kind;
+            this.gap1 = gap1;
+            this.gap2 = gap2;
+
+            int count = Math.max(0, kind == WINDOW ? numPoints - gap1 + 1 : numPoints - gap1 - gap2);
+            double[] values = new double[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = measure(i);
+            }
+            elements = new int[count];
+            for (int i = 0; i < count; i++) {
+                elements[i] = i;
+            }
+            sort(elements, new int[count], values, 0, count);
+            sorted = new double[count];
+            for (int i = 0; i < count; i++) {
+                sorted[i] = values[elements[i]];
+            }
+        }
+
+        /**
+         *
+         * @return whether a pair, triple or window meets the query: a measure greater or less
+         * than threshold, or, for BETWEEN, greater than threshold and at most threshold2
+         */
+        boolean any(int query, double threshold, double threshold2) {
+            int count = sorted.length;
+            double high = query == BETWEEN ? threshold2 : threshold;
+            if (Double.isInfinite(threshold) || Double.isInfinite(high)
+                    || Double.isNaN(threshold) || Double.isNaN(high)) {
+                // No tolerance band, check every measure with the predicate
+                for (int i = 0; i < count; i++) {
+                    if (exact(query, elements[i], threshold, threshold2)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            double below = threshold - TOLERANCE * Math.abs(threshold);
+            double above = threshold + TOLERANCE * Math.abs(threshold);
+
+            if (query == GREATER) {
+                for (int i = count - 1; i >= 0 && sorted[i] >= below; i--) {
+                    if (sorted[i] > above || exact(query, elements[i], threshold, threshold2)) {
+                        return true;
+                    }
+                }
+            } else if (query == LESS) {
+                for (int i = 0; i < count && sorted[i] <= above; i++) {
+                    if (sorted[i] < below || exact(query, elements[i], threshold, threshold2)) {
+                        return true;
+                    }
+                }
+            } else {
+                double highBelow = high - TOLERANCE * Math.abs(high);
+                double highAbove = high + TOLERANCE * Math.abs(high);
+                for (int i = lowerBound(below); i < count && sorted[i] <= highAbove; i++) {
+                    if ((sorted[i] > above && sorted[i] < highBelow)
+                            || exact(query, elements[i], threshold, threshold2)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         *
+         * @return the index of the first measure that is at least value
+         */
+        private int lowerBound(double value) {
+            int from = 0;
+            int to = sorted.length;
+            while (from < to) {
+                int middle = (from + to) >>> 1;
+                if (sorted[middle] < value) {
+                    from = middle + 1;
+                } else {
+                    to = middle;
+                }
+            }
+            return from;
+        }
+
+        /**
+         *
+         * @return the measure of the pair, triple or window starting at point i
+         */
+        private double measure(int i) {
+            int i2 = i + gap1;
+            int i3 = i2 + gap2;
+            switch (kind) {
+                case DISTANCE:
+                    return Geometry.distanceSquared(xs[i], ys[i], xs[i2], ys[i2]);
+                case AREA:
+                    return Geometry.doubledArea(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3]);
+                case RADIUS: {
+                    double lengthAB = Geometry.distanceSquared(xs[i], ys[i], xs[i2], ys[i2]);
+                    double lengthAC = Geometry.distanceSquared(xs[i], ys[i], xs[i3], ys[i3]);
+                    double lengthBC = Geometry.distanceSquared(xs[i2], ys[i2], xs[i3], ys[i3]);
+                    double longest = Math.max(lengthAB, Math.max(lengthAC, lengthBC));
+                    if (2 * longest >= lengthAB + lengthAC + lengthBC) {
+                        return longest / 4;
+                    }
+                    double cross = Geometry.cross(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3]);
+                    return Math.max(longest / 4, lengthAB * lengthAC * lengthBC / (4 * cross * cross));
+                }
+                case ANGLE: {
+                    double vector1x = xs[i] - xs[i2];
+                    double vector1y = ys[i] - ys[i2];
+                    double vector2x = xs[i3] - xs[i2];
+                    double vector2y = ys[i3] - ys[i2];
+                    double lengths = (vector1x * vector1x + vector1y * vector1y)
+                            * (vector2x * vector2x + vector2y * vector2y);
+                    if (lengths == 0) {
+                        // Points that coincide with the vertex form no angle
+                        return Double.NEGATIVE_INFINITY;
+                    }
+                    return (vector1x * vector2x + vector1y * vector2y) / Math.sqrt(lengths);
+                }
+                default: {
+                    int last = i + gap1 - 1;
+                    double firstX = xs[i], firstY = ys[i];
+                    double lastX = xs[last], lastY = ys[last];
+                    double farthest = 0;
+                    if (firstX == lastX && firstY == lastY) {
+                        for (int c = i; c < last; c++) {
+                            farthest = Math.max(farthest, Geometry.distanceSquared(firstX, firstY, xs[c], ys[c]));
+                        }
+                    } else {
+                        double length = Geometry.distanceSquared(firstX, firstY, lastX, lastY);
+                        for (int c = i + 1; c < last; c++) {
+                            double cross = Geometry.cross(firstX, firstY, lastX, lastY, xs[c], ys[c]);
+                            farthest = Math.max(farthest, cross * cross / length);
+                        }
+                    }
+                    return farthest;
+                }
+            }
+        }
+
+        /**
+         *
+         * @return whether the pair, triple or window starting at point i meets the query, as
+         * evaluated by the LIC
+         */
+        private boolean exact(int query, int i, double threshold, double threshold2) {
+            int i2 = i + gap1;
+            int i3 = i2 + gap2;
+            switch (kind) {
+                case DISTANCE: {
+                    double distance = Geometry.distanceSquared(xs[i], ys[i], xs[i2], ys[i2]);
+                    return query == GREATER ? distance > threshold : distance < threshold;
+                }
+                case AREA: {
+                    double area = Geometry.doubledArea(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3]);
+                    return query == GREATER ? area > threshold : area < threshold;
+                }
+                case RADIUS:
+                    if (Geometry.inCircle(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3], threshold)) {
+                        return false;
+                    }
+                    return query == GREATER
+                            || Geometry.inCircle(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3], threshold2);
+                case ANGLE:
+                    return Geometry.angleLess(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3], threshold);
+                default: {
+                    int last = i + gap1 - 1;
+                    double firstX = xs[i], firstY = ys[i];
+                    double lastX = xs[last], lastY = ys[last];
+                    if (firstX == lastX && firstY == lastY) {
+                        for (int c = i; c < last; c++) {
+                            if (Geometry.distanceSquared(firstX, firstY, xs[c], ys[c]) > threshold) {
+                                return true;
+                            }
+                        }
+                    } else {
+                        for (int c = i + 1; c < last; c++) {
+                            if (Geometry.fartherFromLine(xs[c], ys[c], firstX, firstY, lastX, lastY, threshold)) {
+                                return true;
+                            }
+                        }
+                    }
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Merge sort the indices in [from, to) of order by their values.
+     */
+    private static void sort(int[] order, int[] scratch, double[] values, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(order, scratch, values, from, middle);
+        sort(order, scratch, values, middle, to);
+        if (values[order[middle - 1]] <= values[order[middle]]) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right == to || (left < middle && values[scratch[left]] <= values[scratch[right]])) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+}
@@ -15,4 +15,36 @@ public class Point {
         this.x = x;
         this.y = y;
     }
+
+    /**
+     * Adapter from an array of points to the coordinate arrays used by AntiMissileSystem.
+     * @param points
+     * @return the x coordinates of the points, an empty array if points is null
+     */
+    public static double[] xs(Point[] points) {
+        if (points == null) {
+            return new double[0];
+        }
+        double[] xs = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].x;
+        }
+        return xs;
+    }
+
+    /**
+     * Adapter from an array of points to the coordinate arrays used by AntiMissileSystem.
+     * @param points
+     * @return the y coordinates of the points, an empty array if points is null
+     */
+    public static double[] ys(Point[] points) {
+        if (points == null) {
+            return new double[0];
+        }
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            ys[i] = points[i].y;
+        }
+        return ys;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+import java.io.IOException;
+import java.util.BitSet;
+
+/**
+ * The outcome of DecisionReplay.replay(): the replayed decisions of every track and the
+ * tracks whose decision differs from the recorded one, in the order of the file.
+ */
+public class ReplayReport {
+
+    // The number of tracks replayed.
+    public final int tracks;
+
+    // The replayed decisions, bit i is set iff an interceptor should be launched for track i.
+    public final BitSet decisions;
+
+    // The number of tracks whose decision changed.
+    public final int changes;
+
+    // For every changed track: its index in the file, its configuration id, the file offset of
+    // its record and the replayed decision, the opposite of the recorded one.
+    public final int[] changedTracks;
+    public final int[] changedConfigIds;
+    public final long[] changedOffsets;
+    public final boolean[] changedDecisions;
+
+    /**
+     *
+     * @param tracks
+     * @param decisions
+     * @param changes
+     * @param changedTracks
+     * @param changedConfigIds
+     * @param changedOffsets
+     * @param changedDecisions
+     * @return instance of ReplayReport
+     */
+    public ReplayReport(int tracks, BitSet decisions, int changes, int[] changedTracks, int[] changedConfigIds,
+                        long[] changedOffsets, boolean[] changedDecisions) {
+        this.tracks = tracks;
+        this.decisions = decisions;
+        this.changes = changes;
+        this.changedTracks = changedTracks;
+        this.changedConfigIds = changedConfigIds;
+        this.changedOffsets = changedOffsets;
+        this.changedDecisions = changedDecisions;
+    }
+
+    /**
+     *
+     * @return the number of tracks that are launched on now but were not before
+     */
+    public int launchesAdded() {
+        int added = 0;
+        for (int i = 0; i < changes; i++) {
+            if (changedDecisions[i]) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     *
+     * @return the number of tracks that were launched on before but are not now
+     */
+    public int launchesWithdrawn() {
+        return changes - launchesAdded();
+    }
+
+    /**
+     * Write the report as text: a summary line, then one line per changed track.
+     * @param out
+     * @throws IOException
+     */
+    public void write(Appendable out) throws IOException {
+        out.append(Integer.toString(tracks)).append(" tracks, ")
+                .append(Integer.toString(changes)).append(" changed, ")
+                .append(Integer.toString(launchesAdded())).append(" launches added, ")
+                .append(Integer.toString(launchesWithdrawn())).append(" launches withdrawn\n");
+        for (int i = 0; i < changes; i++) {
+            out.append("track ").append(Integer.toString(changedTracks[i]))
+                    .append(" config ").append(Integer.toString(changedConfigIds[i]))
+                    .append(" offset ").append(Long.toString(changedOffsets[i]))
+                    .append(changedDecisions[i] ? ": NO -> YES\n" : ": YES -> NO\n");
+        }
+    }
+}
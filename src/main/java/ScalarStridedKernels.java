@@ -0,0 +1,84 @@
+/**
+ * Scalar StridedKernels. The static methods scan the pairs or triples starting at from, so
+ * that vectorized kernels can finish the tail of a track with them.
+ */
+public final class ScalarStridedKernels implements StridedKernels {
+
+    @Override
+    public int firstDistanceGreater(double[] xs, double[] ys, int numPoints, int gap, double lengthSquared) {
+        return firstDistanceGreater(xs, ys, 0, numPoints, gap, lengthSquared);
+    }
+
+    @Override
+    public int firstDistanceLess(double[] xs, double[] ys, int numPoints, int gap, double lengthSquared) {
+        return firstDistanceLess(xs, ys, 0, numPoints, gap, lengthSquared);
+    }
+
+    @Override
+    public int firstDecrease(double[] xs, int numPoints, int gap) {
+        return firstDecrease(xs, 0, numPoints, gap);
+    }
+
+    @Override
+    public int firstAreaGreater(double[] xs, double[] ys, int numPoints, int gap1, int gap2, double doubledArea) {
+        return firstAreaGreater(xs, ys, 0, numPoints, gap1, gap2, doubledArea);
+    }
+
+    @Override
+    public int firstAreaLess(double[] xs, double[] ys, int numPoints, int gap1, int gap2, double doubledArea) {
+        return firstAreaLess(xs, ys, 0, numPoints, gap1, gap2, doubledArea);
+    }
+
+    public static int firstDistanceGreater(double[] xs, double[] ys, int from, int numPoints, int gap,
+                                           double lengthSquared) {
+        for (int i = from; i < numPoints - gap; i++) {
+            if (Geometry.distanceSquared(xs[i], ys[i], xs[i + gap], ys[i + gap]) > lengthSquared) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static int firstDistanceLess(double[] xs, double[] ys, int from, int numPoints, int gap,
+                                        double lengthSquared) {
+        for (int i = from; i < numPoints - gap; i++) {
+            if (Geometry.distanceSquared(xs[i], ys[i], xs[i + gap], ys[i + gap]) < lengthSquared) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static int firstDecrease(double[] xs, int from, int numPoints, int gap) {
+        for (int i = from; i < numPoints - gap; i++) {
+            if (xs[i + gap] - xs[i] < 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static int firstAreaGreater(double[] xs, double[] ys, int from, int numPoints, int gap1, int gap2,
+                                       double doubledArea) {
+        for (int i = from; i < numPoints - gap1 - gap2; i++) {
+            int i2 = i + gap1;
+            int i3 = i2 + gap2;
+            if (Geometry.doubledArea(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3]) > doubledArea) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static int firstAreaLess(double[] xs, double[] ys, int from, int numPoints, int gap1, int gap2,
+                                    double doubledArea) {
+        for (int i = from; i < numPoints - gap1 - gap2; i++) {
+            int i2 = i + gap1;
+            int i3 = i2 + gap2;
+            if (Geometry.doubledArea(xs[i], ys[i], xs[i2], ys[i2], xs[i3], ys[i3]) < doubledArea) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
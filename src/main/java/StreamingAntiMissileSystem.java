@@ -0,0 +1,351 @@
+/**
+ * Launch decision over an unbounded radar feed. Points are added one at a time and
+ * cmv, pum, fuv and decide() are kept up to date after every sample.
+ *
+ * Every LIC is an existential condition over the pairs, triples or windows of the track,
+ * so once a condition has been met by some set of points it stays met when the track grows.
+ * On each arrival only the sets that end at the new point are evaluated, which makes an
+ * update O(N_PTS) for LIC 6 and O(1) for every other LIC instead of a rescan of the track.
+ * The PUM and FUV are updated by an IncrementalDecision in the rows and columns of the LICs
+ * that changed, and decide() is O(1).
+ * Only the most recent points needed by the widest LIC are kept, in a ring buffer.
+ *
+ * The parameters are read once at construction and must not be modified afterwards.
+ */
+public class StreamingAntiMissileSystem {
+
+    // The most consecutive points a LIC may look at, so that the ring buffer fits in an array.
+    public static final int MAX_SPAN = 1 << 30;
+
+    //------------------ Global Data ------------------
+
+    // The number of planar data points received so far.
+    public int numPoints;
+
+    // The parameters of the LICs, read once at construction.
+    public Parameters parameters;
+
+    // The Logical Connector Matrix (LCM), see AntiMissileSystem.
+    public Connector[][] lcm;
+
+    // The Preliminary Unlocking Vector (PUV), see AntiMissileSystem.
+    public boolean[] puv;
+
+    // The Conditions Met Vector (CMV) for the points received so far.
+    public boolean[] cmv = new boolean[15];
+
+    // The Preliminary Unlocking Matrix (PUM) for the current CMV.
+    public boolean[][] pum = new boolean[15][15];
+
+    // The Final Unlocking Vector (FUV) for the current PUM.
+    public boolean[] fuv = new boolean[15];
+
+    // Ring buffer holding the most recent points, its length is a power of two.
+    private final double[] xs;
+    private final double[] ys;
+    private final int mask;
+
+    // The parameters compiled at construction.
+    private final CompiledParameters compiled;
+
+    // Whether some set of points received so far satisfies the LIC, regardless of the
+    // NUMPOINTS lower bound of the LIC.
+    private final boolean[] found = new boolean[15];
+    // The two existential parts of LIC 12 and LIC 14.
+    private boolean foundLengthGreater;
+    private boolean foundLengthShorter;
+    private boolean foundAreaGreater;
+    private boolean foundAreaLess;
+
+    // Keeps pum and fuv up to date with the LICs of cmv that change.
+    private final IncrementalDecision decision;
+
+    // Number of points in the current Q_PTS window per quadrant (LIC 4).
+    private final int[] quadrantCounts = new int[4];
+    private int quadrantsVisited;
+
+    /**
+     *
+     * @param parameters
+     * @param lcm
+     * @param puv
+     * @return instance of StreamingAntiMissileSystem without any points
+     * @throws IllegalArgumentException if a LIC looks at more than MAX_SPAN consecutive points
+     */
+    public StreamingAntiMissileSystem(Parameters parameters, Connector[][] lcm, boolean[] puv) {
+        this.parameters = parameters;
+        this.lcm = lcm;
+        this.puv = puv;
+
+        // The widest set of points any LIC looks at, plus one for the point leaving the LIC 4 window,
+        // summed in longs so that large window parameters cannot overflow
+        long span = 3;
+        span = Math.max(span, (long) parameters.qPts + 1);
+        span = Math.max(span, parameters.nPTS);
+        span = Math.max(span, (long) parameters.kPTS + 2);
+        span = Math.max(span, (long) parameters.aPTS + parameters.bPTS + 3);
+        span = Math.max(span, (long) parameters.cPTS + parameters.dPTS + 3);
+        span = Math.max(span, (long) parameters.ePTS + parameters.fPTS + 3);
+        span = Math.max(span, (long) parameters.gPTS + 2);
+        if (span > MAX_SPAN) {
+            throw new IllegalArgumentException("Parameters span " + span + " points, more than " + MAX_SPAN);
+        }
+
+        int capacity = Integer.highestOneBit((int) span);
+        if (capacity < span) {
+            capacity <<= 1;
+        }
+        xs = new double[capacity];
+        ys = new double[capacity];
+        mask = capacity - 1;
+        compiled = new CompiledParameters(parameters);
+
+        decision = new IncrementalDecision(lcm, puv, cmv, pum, fuv);
+    }
+
+    /**
+     * Add the next radar sample and update cmv, pum and fuv.
+     * @param point
+     */
+    public void addPoint(Point point) {
+        addPoint(point.x, point.y);
+    }
+
+    /**
+     * Add the next radar sample and update cmv, pum and fuv.
+     * @param x
+     * @param y
+     */
+    public void addPoint(double x, double y) {
+        int newest = numPoints;
+        xs[newest & mask] = x;
+        ys[newest & mask] = y;
+        numPoints++;
+
+        int changed = 0;
+        for (int i = 0; i < 15; i++) {
+            if (!found[i]) {
+                evaluate(i);
+            }
+            boolean met = found[i] && numPoints >= minNumPoints(i);
+            if (met != cmv[i]) {
+                cmv[i] = met;
+                changed |= 1 << i;
+            }
+        }
+
+        if (changed != 0) {
+            decision.update((short) changed);
+        }
+    }
+
+    /**
+     *
+     * @return whether an interceptor should be launched for the points received so far
+     */
+    public boolean decide() {
+        return decision.decide();
+    }
+
+    /**
+     *
+     * @param lic
+     * @return the smallest NUMPOINTS for which the LIC can be met
+     */
+    private static int minNumPoints(int lic) {
+        switch (lic) {
+            case 6: case 7: case 11: case 12:
+                return 3;
+            case 8: case 9: case 10: case 13: case 14:
+                return 5;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Evaluate the sets of points of the LIC that end at the newest point.
+     * @param lic
+     */
+    private void evaluate(int lic) {
+        CompiledParameters p = compiled;
+        int newest = numPoints - 1;
+        switch (lic) {
+            case 0:
+                if (newest >= 1) {
+                    found[0] = Geometry.distanceSquared(x(1), y(1), x(0), y(0)) > p.length1Squared;
+                }
+                break;
+            case 1:
+                if (newest >= 2 && p.possible(1)) {
+                    found[1] = !Geometry.inCircle(x(2), y(2), x(1), y(1), x(0), y(0), p.radius1Squared);
+                }
+                break;
+            case 2:
+                if (newest >= 2) {
+                    found[2] = Geometry.angleLess(x(2), y(2), x(1), y(1), x(0), y(0), p.cosAngleLimit);
+                }
+                break;
+            case 3:
+                if (newest >= 2) {
+                    found[3] = Geometry.doubledArea(x(2), y(2), x(1), y(1), x(0), y(0)) > p.doubledArea1;
+                }
+                break;
+            case 4:
+                found[4] = updateQuadrants();
+                break;
+            case 5:
+                if (newest >= 1) {
+                    found[5] = (x(0) - x(1)) < 0;
+                }
+                break;
+            case 6:
+                found[6] = lic6Window();
+                break;
+            case 7:
+                if (hasPair(p.kPTS)) {
+                    int first = p.kPTS + 1;
+                    found[7] = Geometry.distanceSquared(x(first), y(first), x(0), y(0)) > p.length1Squared;
+                }
+                break;
+            case 8:
+                if (p.possible(8) && hasTriple(p.aPTS, p.bPTS)) {
+                    found[8] = !inCircle(p.aPTS, p.bPTS, p.radius1Squared);
+                }
+                break;
+            case 9:
+                if (hasTriple(p.cPTS, p.dPTS)) {
+                    int second = p.dPTS + 1;
+                    int first = second + p.cPTS + 1;
+                    found[9] = Geometry.angleLess(x(first), y(first), x(second), y(second), x(0), y(0), p.cosAngleLimit);
+                }
+                break;
+            case 10:
+                if (hasTriple(p.ePTS, p.fPTS)) {
+                    found[10] = areaEF() > p.doubledArea1;
+                }
+                break;
+            case 11:
+                if (hasPair(p.gPTS)) {
+                    found[11] = x(0) - x(p.gPTS + 1) < 0.0;
+                }
+                break;
+            case 12:
+                if (hasPair(p.kPTS)) {
+                    int first = p.kPTS + 1;
+                    double distance = Geometry.distanceSquared(x(first), y(first), x(0), y(0));
+                    foundLengthGreater |= distance > p.length1Squared;
+                    foundLengthShorter |= distance < p.length2Squared;
+                    found[12] = foundLengthGreater && foundLengthShorter;
+                }
+                break;
+            case 13:
+                if (p.possible(13) && hasTriple(p.aPTS, p.bPTS)) {
+                    found[13] = !inCircle(p.aPTS, p.bPTS, p.radius1Squared) && inCircle(p.aPTS, p.bPTS, p.radius2Squared);
+                }
+                break;
+            case 14:
+                if (hasTriple(p.ePTS, p.fPTS)) {
+                    double area = areaEF();
+                    foundAreaGreater |= area > p.doubledArea1;
+                    foundAreaLess |= area < p.doubledArea2;
+                    found[14] = foundAreaGreater && foundAreaLess;
+                }
+                break;
+        }
+    }
+
+    //------------------ Helpers ------------------
+
+    private double x(int back) {
+        return xs[(numPoints - 1 - back) & mask];
+    }
+
+    private double y(int back) {
+        return ys[(numPoints - 1 - back) & mask];
+    }
+
+    /**
+     *
+     * @param between
+     * @return whether a pair separated by between points ends at the newest point
+     */
+    private boolean hasPair(int between) {
+        return between >= -1 && numPoints - 2 - between >= 0;
+    }
+
+    /**
+     *
+     * @param between1
+     * @param between2
+     * @return whether a triple separated by between1 and between2 points ends at the newest point
+     */
+    private boolean hasTriple(int between1, int between2) {
+        return between1 >= -1 && between2 >= -1 && numPoints - 3 - between1 - between2 >= 0;
+    }
+
+    private boolean inCircle(int between1, int between2, double radiusSquared) {
+        int second = between2 + 1;
+        int first = second + between1 + 1;
+        return Geometry.inCircle(x(first), y(first), x(second), y(second), x(0), y(0), radiusSquared);
+    }
+
+    /**
+     *
+     * @return twice the area of the E_PTS/F_PTS triangle ending at the newest point
+     */
+    private double areaEF() {
+        int second = compiled.fGap;
+        int first = second + compiled.eGap;
+        return Geometry.doubledArea(x(first), y(first), x(second), y(second), x(0), y(0));
+    }
+
+    /**
+     * Slide the Q_PTS window of LIC 4 by one point.
+     * @return whether the window ending at the newest point lies in more than QUADS quadrants
+     */
+    private boolean updateQuadrants() {
+        int qPts = compiled.qPts;
+        if (!compiled.possible(4)) {
+            return false;
+        }
+        if (quadrantCounts[Geometry.quadrant(x(0), y(0))]++ == 0) {
+            quadrantsVisited++;
+        }
+        if (numPoints > qPts && --quadrantCounts[Geometry.quadrant(x(qPts), y(qPts))] == 0) {
+            quadrantsVisited--;
+        }
+        return numPoints >= qPts && quadrantsVisited > compiled.qUads;
+    }
+
+    /**
+     *
+     * @return whether a point of the N_PTS window ending at the newest point lies a distance
+     * greater than DIST from the line joining the first and last point of the window
+     */
+    private boolean lic6Window() {
+        int nPTS = compiled.nPTS;
+        if (nPTS < 1 || numPoints < nPTS) {
+            return false;
+        }
+        int first = nPTS - 1;
+        double firstX = x(first), firstY = y(first);
+        double lastX = x(0), lastY = y(0);
+        double dist = compiled.distSquared;
+
+        if (firstX == lastX && firstY == lastY) {
+            for (int c = first; c > 0; c--) {
+                if (Geometry.distanceSquared(firstX, firstY, x(c), y(c)) > dist) {
+                    return true;
+                }
+            }
+        } else {
+            for (int c = first - 1; c > 0; c--) {
+                if (Geometry.fartherFromLine(x(c), y(c), firstX, firstY, lastX, lastY, dist)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
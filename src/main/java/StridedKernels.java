@@ -0,0 +1,67 @@
+/**
+ * The strided scans of the pair and triple LICs (0, 3, 5, 7, 10, 11, 12 and 14) over the
+ * coordinate arrays. A pair is (i, i + gap) and a triple is (i, i + gap1, i + gap1 + gap2)
+ * for every i such that the last point is below numPoints, the gaps are one more than the
+ * number of intervening points.
+ *
+ * DEFAULT is the SIMD implementation VectorStridedKernels of the simd module when that is on
+ * the class path and the jdk.incubator.vector module is available, otherwise the scalar
+ * ScalarStridedKernels. Both return the same results.
+ *
+ * Every scan returns the index of the first point of the first pair or triple that meets its
+ * condition, -1 if there is none, so that the LICs can report which points met them.
+ */
+public interface StridedKernels {
+
+    StridedKernels SCALAR = new ScalarStridedKernels();
+
+    StridedKernels DEFAULT = load();
+
+    /**
+     *
+     * @param lengthSquared Geometry.signedSquare() of the length
+     * @return the first pair that is further apart than the length, -1 if there is none
+     */
+    int firstDistanceGreater(double[] xs, double[] ys, int numPoints, int gap, double lengthSquared);
+
+    /**
+     *
+     * @param lengthSquared Geometry.signedSquare() of the length
+     * @return the first pair that is closer than the length, -1 if there is none
+     */
+    int firstDistanceLess(double[] xs, double[] ys, int numPoints, int gap, double lengthSquared);
+
+    /**
+     *
+     * @return the first pair within which the x coordinate decreases, -1 if there is none
+     */
+    int firstDecrease(double[] xs, int numPoints, int gap);
+
+    /**
+     *
+     * @param doubledArea twice the area
+     * @return the first triple that is a triangle with an area greater than the area, -1 if
+     * there is none
+     */
+    int firstAreaGreater(double[] xs, double[] ys, int numPoints, int gap1, int gap2, double doubledArea);
+
+    /**
+     *
+     * @param doubledArea twice the area
+     * @return the first triple that is a triangle with an area less than the area, -1 if
+     * there is none
+     */
+    int firstAreaLess(double[] xs, double[] ys, int numPoints, int gap1, int gap2, double doubledArea);
+
+    /**
+     *
+     * @return the vector kernels if they can be loaded, otherwise the scalar kernels
+     */
+    static StridedKernels load() {
+        try {
+            return (StridedKernels) Class.forName("VectorStridedKernels").getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads radar tracks from a binary track file by memory mapping it.
+ *
+ * Track file format, all values little-endian:
+ * <pre>
+ *   file header   int32  MAGIC, the bytes "DTRK"
+ *                 int32  VERSION
+ *   track record  int32  configuration id
+ *                 int32  NUMPOINTS
+ *                 double x[NUMPOINTS]
+ *                 double y[NUMPOINTS]
+ * </pre>
+ * The records follow each other up to the end of the file. The coordinates of every record
+ * start at a multiple of 8 bytes. Files are written with TrackWriter.
+ *
+ * next() reads the coordinates of the next track straight from the mapping into xs and ys,
+ * which are reused and only grow when a track is longer than all tracks before it. The file
+ * is mapped in regions of at most REGION_SIZE bytes, so files larger than 2 GB can be read.
+ *
+ * An instance is not thread safe.
+ */
+public class TrackReader implements Closeable {
+
+    public static final int MAGIC = 0x4B525444;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 8;
+    public static final int RECORD_HEADER_SIZE = 8;
+
+    // The largest region of the file mapped at once.
+    public static final int REGION_SIZE = 1 << 30;
+
+    // The configuration id of the current track.
+    public int configId;
+
+    // The number of points of the current track.
+    public int numPoints;
+
+    // The coordinates of the current track, valid up to numPoints.
+    public double[] xs = new double[0];
+    public double[] ys = new double[0];
+
+    // The file offset of the record of the current track.
+    public long offset = -1;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int regionSize;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long position;
+
+    /**
+     *
+     * @param path
+     * @return a reader positioned before the first track of the file
+     * @throws IOException if the file cannot be read or is not a track file
+     */
+    public static TrackReader open(Path path) throws IOException {
+        return new TrackReader(FileChannel.open(path, StandardOpenOption.READ), REGION_SIZE);
+    }
+
+    TrackReader(FileChannel channel, int regionSize) throws IOException {
+        this.channel = channel;
+        this.regionSize = regionSize;
+        try {
+            size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a track file, too short for the header");
+            }
+            int start = map(0, HEADER_SIZE);
+            if (region.getInt(start) != MAGIC) {
+                throw new IOException("Not a track file, bad magic");
+            }
+            if (region.getInt(start + 4) != VERSION) {
+                throw new IOException("Unsupported track file version " + region.getInt(start + 4));
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        position = HEADER_SIZE;
+    }
+
+    /**
+     * Advance to the next track and read it into configId, numPoints, xs and ys.
+     * @return false if there are no more tracks
+     * @throws IOException if the record of the track is truncated
+     */
+    public boolean next() throws IOException {
+        if (!skip()) {
+            return false;
+        }
+        int count = numPoints;
+        int start = map(offset, RECORD_HEADER_SIZE + 16L * count);
+        if (xs.length < count) {
+            xs = new double[count];
+            ys = new double[count];
+        }
+        int x = start + RECORD_HEADER_SIZE;
+        int y = x + 8 * count;
+        for (int i = 0; i < count; i++) {
+            xs[i] = region.getDouble(x + 8 * i);
+            ys[i] = region.getDouble(y + 8 * i);
+        }
+        return true;
+    }
+
+    /**
+     * Advance past the next track, reading only configId and numPoints and leaving xs and ys
+     * untouched, e.g. to index the records of a file.
+     * @return false if there are no more tracks
+     * @throws IOException if the record of the track is truncated
+     */
+    public boolean skip() throws IOException {
+        if (position == size) {
+            return false;
+        }
+        if (size - position < RECORD_HEADER_SIZE) {
+            throw new IOException("Truncated track record at offset " + position);
+        }
+        int start = map(position, RECORD_HEADER_SIZE);
+        int id = region.getInt(start);
+        int count = region.getInt(start + 4);
+        long length = RECORD_HEADER_SIZE + 16L * count;
+        if (count < 0 || size - position < length) {
+            throw new IOException("Truncated track record at offset " + position);
+        }
+
+        configId = id;
+        numPoints = count;
+        offset = position;
+        position += length;
+        return true;
+    }
+
+    /**
+     * Continue with the track whose record starts at offset, as found in offset after next()
+     * or skip().
+     * @param offset
+     */
+    public void seek(long offset) {
+        if (offset < HEADER_SIZE || offset > size) {
+            throw new IllegalArgumentException("Offset " + offset + " outside of the tracks");
+        }
+        position = offset;
+    }
+
+    /**
+     * Map the region of the file that holds [from, from + length), unless it is mapped already.
+     * @return the index of from within the mapped region
+     */
+    private int map(long from, long length) throws IOException {
+        if (region == null || from < regionStart || from + length > regionStart + region.capacity()) {
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Track record at offset " + from + " is too large to map");
+            }
+            long mapped = Math.min(size - from, Math.max(regionSize, length));
+            region = channel.map(FileChannel.MapMode.READ_ONLY, from, mapped);
+            region.order(ByteOrder.LITTLE_ENDIAN);
+            regionStart = from;
+        }
+        return (int) (from - regionStart);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
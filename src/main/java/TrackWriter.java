@@ -0,0 +1,86 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes radar tracks to a binary track file, see TrackReader for the format.
+ *
+ * An instance is not thread safe.
+ */
+public class TrackWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     *
+     * @param path the file to create, or to replace if it exists
+     * @return a writer that has written the file header
+     * @throws IOException
+     */
+    public static TrackWriter create(Path path) throws IOException {
+        return new TrackWriter(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    private TrackWriter(FileChannel channel) {
+        this.channel = channel;
+        buffer.putInt(TrackReader.MAGIC);
+        buffer.putInt(TrackReader.VERSION);
+    }
+
+    /**
+     * Append a track.
+     * @param configId
+     * @param numPoints
+     * @param xs at least numPoints x coordinates
+     * @param ys at least numPoints y coordinates
+     * @throws IOException
+     */
+    public void write(int configId, int numPoints, double[] xs, double[] ys) throws IOException {
+        if (numPoints < 0 || xs.length < numPoints || ys.length < numPoints) {
+            throw new IllegalArgumentException("Fewer than " + numPoints + " coordinates");
+        }
+        ensureRemaining(TrackReader.RECORD_HEADER_SIZE);
+        buffer.putInt(configId);
+        buffer.putInt(numPoints);
+        putDoubles(xs, numPoints);
+        putDoubles(ys, numPoints);
+    }
+
+    private void putDoubles(double[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            ensureRemaining(8);
+            buffer.putDouble(values[i]);
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        // Through Buffer, the covariant overrides of ByteBuffer do not exist on Java 8
+        ((Buffer) buffer).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        ((Buffer) buffer).clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/**
+ * Extreme-point queries over ranges of a track, used by LIC 6 for large N_PTS windows.
+ *
+ * The track is divided into aligned blocks of 2, 4, 8, ... points, one level per block size,
+ * and the convex hull of every block is stored as its lower and upper chain. A range is
+ * covered by O(log n) blocks and single points:
+ *  - the point farthest from a line lies on the hull of its block, and the distance from the
+ *    line is unimodal along a hull chain, so each chain is answered by a binary search;
+ *  - the point farthest from a point also lies on the hull, each hull is scanned.
+ * A window query is then O(log^2 n) for a line and O(hull size) for a point instead of
+ * O(N_PTS). The distances are computed with Geometry as in the linear scan, results can only
+ * differ from it when two points are within rounding of the same distance from the line.
+ *
+ * The arrays are kept between builds and only reallocated when the track grows.
+ */
+public class WindowHulls {
+
+    private double[] xs;
+    private double[] ys;
+    private int levels;
+
+    // Per level, the indices of each block sorted by x and then y. Only used while building.
+    private int[] sorted = new int[0];
+    private int[] merged = new int[0];
+
+    // Per level and block, the lower and upper hull chains from left to right, stored at the
+    // offset of the first point of the block, and their lengths.
+    private int[][] lower = new int[0][];
+    private int[][] upper = new int[0][];
+    private int[][] lowerCount = new int[0][];
+    private int[][] upperCount = new int[0][];
+
+    // The point farthest from the line of the current fartherFromLine() query so far and its
+    // absolute cross product with the line.
+    private int farthest;
+    private double maxCross;
+
+    /**
+     * Build the hulls of all blocks of up to maxRange points.
+     * @param xs
+     * @param ys
+     * @param numPoints
+     * @param maxRange the longest range that will be queried
+     */
+    public void build(double[] xs, double[] ys, int numPoints, int maxRange) {
+        this.xs = xs;
+        this.ys = ys;
+        levels = 0;
+        while (levels < 30 && (2 << levels) <= Math.min(maxRange, numPoints)) {
+            levels++;
+        }
+        ensureCapacity(numPoints);
+
+        for (int i = 0; i < numPoints; i++) {
+            sorted[i] = i;
+        }
+        for (int level = 1; level <= levels; level++) {
+            int size = 1 << level;
+            int half = size >> 1;
+            for (int start = 0; start + size <= numPoints; start += size) {
+                merge(start, start + half, start + size);
+                buildHull(level, start, size);
+            }
+            int[] swap = sorted;
+            sorted = merged;
+            merged = swap;
+        }
+    }
+
+    /**
+     *
+     * @param from first index of the range
+     * @param to last index of the range, inclusive
+     * @param distanceSquared signedSquare() of the distance
+     * @return the point of the range farthest from the line through (fx, fy) and (lx, ly), which
+     * must not coincide, if it lies further than the distance, otherwise -1
+     */
+    public int fartherFromLine(int from, int to, double fx, double fy, double lx, double ly, double distanceSquared) {
+        farthest = -1;
+        maxCross = -1;
+        int index = from;
+        while (index <= to) {
+            int level = level(index, to);
+            if (level == 0) {
+                consider(index, fx, fy, lx, ly);
+            } else {
+                int block = index >> level;
+                farthestOnChain(lower[level], index, lowerCount[level][block], fx, fy, lx, ly);
+                farthestOnChain(upper[level], index, upperCount[level][block], fx, fy, lx, ly);
+            }
+            index += 1 << level;
+        }
+        return farthest >= 0 && maxCross * maxCross > distanceSquared * Geometry.distanceSquared(fx, fy, lx, ly)
+                ? farthest : -1;
+    }
+
+    /**
+     *
+     * @param from first index of the range
+     * @param to last index of the range, inclusive
+     * @param distanceSquared signedSquare() of the distance
+     * @return the first point found in the range that lies further than the distance from
+     * (px, py), -1 if there is none
+     */
+    public int fartherFromPoint(int from, int to, double px, double py, double distanceSquared) {
+        int index = from;
+        while (index <= to) {
+            int level = level(index, to);
+            if (level == 0) {
+                if (Geometry.distanceSquared(px, py, xs[index], ys[index]) > distanceSquared) {
+                    return index;
+                }
+            } else {
+                int block = index >> level;
+                int point = fartherFromPoint(lower[level], index, lowerCount[level][block], px, py, distanceSquared);
+                if (point < 0) {
+                    point = fartherFromPoint(upper[level], index, upperCount[level][block], px, py, distanceSquared);
+                }
+                if (point >= 0) {
+                    return point;
+                }
+            }
+            index += 1 << level;
+        }
+        return -1;
+    }
+
+    /**
+     *
+     * @return the highest level whose block starts at index and ends at or before to
+     */
+    private int level(int index, int to) {
+        int level = 0;
+        while (level < levels && (index & ((2 << level) - 1)) == 0 && index + (2 << level) - 1 <= to) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Consider the points of the chain that can be farthest from the line.
+     */
+    private void farthestOnChain(int[] chain, int offset, int count, double fx, double fy, double lx, double ly) {
+        consider(chain[offset], fx, fy, lx, ly);
+        consider(chain[offset + count - 1], fx, fy, lx, ly);
+        // The cross product is unimodal along the chain, so its maximum and its minimum are
+        // each either an end point or the first point where the chain turns down (up)
+        consider(peak(chain, offset, count, fx, fy, lx, ly, 1), fx, fy, lx, ly);
+        consider(peak(chain, offset, count, fx, fy, lx, ly, -1), fx, fy, lx, ly);
+    }
+
+    /**
+     *
+     * @return the first point of the chain after which sign times the cross product no longer
+     * increases
+     */
+    private int peak(int[] chain, int offset, int count, double fx, double fy, double lx, double ly, int sign) {
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sign * cross(chain[offset + middle + 1], fx, fy, lx, ly)
+                    > sign * cross(chain[offset + middle], fx, fy, lx, ly)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return chain[offset + low];
+    }
+
+    /**
+     * Make the point the farthest from the line if it is further than the farthest so far.
+     */
+    private void consider(int point, double fx, double fy, double lx, double ly) {
+        double cross = Math.abs(cross(point, fx, fy, lx, ly));
+        if (cross > maxCross) {
+            maxCross = cross;
+            farthest = point;
+        }
+    }
+
+    private double cross(int point, double fx, double fy, double lx, double ly) {
+        return Geometry.cross(fx, fy, lx, ly, xs[point], ys[point]);
+    }
+
+    private int fartherFromPoint(int[] chain, int offset, int count, double px, double py, double distanceSquared) {
+        for (int k = offset; k < offset + count; k++) {
+            if (Geometry.distanceSquared(px, py, xs[chain[k]], ys[chain[k]]) > distanceSquared) {
+                return chain[k];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Merge the sorted halves [start, middle) and [middle, end) of the previous level.
+     */
+    private void merge(int start, int middle, int end) {
+        int left = start;
+        int right = middle;
+        for (int k = start; k < end; k++) {
+            if (right >= end || (left < middle && !before(sorted[right], sorted[left]))) {
+                merged[k] = sorted[left++];
+            } else {
+                merged[k] = sorted[right++];
+            }
+        }
+    }
+
+    private boolean before(int a, int b) {
+        return xs[a] < xs[b] || (xs[a] == xs[b] && ys[a] < ys[b]);
+    }
+
+    /**
+     * Andrew's monotone chain over the merged block, collinear points are dropped.
+     */
+    private void buildHull(int level, int start, int size) {
+        int[] lowerChain = lower[level];
+        int[] upperChain = upper[level];
+        int lowerEnd = start;
+        int upperEnd = start;
+        for (int k = start; k < start + size; k++) {
+            int p = merged[k];
+            while (lowerEnd - start >= 2 && turn(lowerChain[lowerEnd - 2], lowerChain[lowerEnd - 1], p) <= 0) {
+                lowerEnd--;
+            }
+            lowerChain[lowerEnd++] = p;
+            while (upperEnd - start >= 2 && turn(upperChain[upperEnd - 2], upperChain[upperEnd - 1], p) >= 0) {
+                upperEnd--;
+            }
+            upperChain[upperEnd++] = p;
+        }
+        lowerCount[level][start >> level] = lowerEnd - start;
+        upperCount[level][start >> level] = upperEnd - start;
+    }
+
+    private double turn(int a, int b, int c) {
+        return Geometry.cross(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+    }
+
+    private void ensureCapacity(int numPoints) {
+        if (sorted.length < numPoints) {
+            sorted = new int[numPoints];
+            merged = new int[numPoints];
+        }
+        if (lower.length <= levels || (levels > 0 && lower[1].length < numPoints)) {
+            int capacity = Math.max(numPoints, sorted.length);
+            lower = new int[levels + 1][];
+            upper = new int[levels + 1][];
+            lowerCount = new int[levels + 1][];
+            upperCount = new int[levels + 1][];
+            for (int level = 1; level <= levels; level++) {
+                lower[level] = new int[capacity];
+                upper[level] = new int[capacity];
+                lowerCount[level] = new int[(capacity >> level) + 1];
+                upperCount[level] = new int[(capacity >> level) + 1];
+            }
+        }
+    }
+}
@@ -1,10 +1,13 @@
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.lang.Math.PI;
 import static java.lang.Math.sqrt;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -60,6 +63,36 @@ public class AntiMissileSystemTest {
         assertFalse(antiMissileSystem.decide());
     }
 
+    @Test
+    void testCoordinateArrays() {
+        // Contract: an AntiMissileSystem constructed from coordinate arrays gives the same CMV
+        // as one constructed from the corresponding points.
+        Point[] points = {
+                new Point(0.0, 0.0),
+                new Point(1.0, 0.0),
+                new Point(2.0, 0.0),
+                new Point(3.0, 0.0),
+                new Point(3.0, 3.0)
+        };
+        double[] xs = {0.0, 1.0, 2.0, 3.0, 3.0};
+        double[] ys = {0.0, 0.0, 0.0, 0.0, 3.0};
+        Parameters parameters = new Parameters();
+        parameters.radius1 = 1;
+        parameters.qUads = 1;
+        parameters.aPTS = 1;
+        parameters.bPTS = 1;
+        parameters.nPTS = 3;
+
+        AntiMissileSystem fromPoints = new AntiMissileSystem(5, points, parameters, null, null);
+        AntiMissileSystem fromArrays = new AntiMissileSystem(5, xs, ys, parameters, null, null);
+        assertArrayEquals(xs, fromPoints.xs);
+        assertArrayEquals(ys, fromPoints.ys);
+
+        fromPoints.populateCMV();
+        fromArrays.populateCMV();
+        assertArrayEquals(fromPoints.cmv, fromArrays.cmv);
+    }
+
     @Test
     void testLic0() {
         // contract: lic0 returns true if two consecutive data point are a greater distance than the length length1
@@ -78,15 +111,19 @@ public class AntiMissileSystemTest {
         assertTrue(antiMissileSystem.lic0());
 
         antiMissileSystem.parameters.length1 = 4;
+        antiMissileSystem.recompile();
         assertTrue(antiMissileSystem.lic0());
 
         antiMissileSystem.parameters.length1 = 6;
+        antiMissileSystem.recompile();
         assertTrue(antiMissileSystem.lic0());
 
         antiMissileSystem.parameters.length1 = 10;
+        antiMissileSystem.recompile();
         assertTrue(antiMissileSystem.lic0());
 
         antiMissileSystem.parameters.length1 = 20;
+        antiMissileSystem.recompile();
         assertFalse(antiMissileSystem.lic0());
     }
   
@@ -108,19 +145,24 @@ public class AntiMissileSystemTest {
         assertTrue(antiMissileSystem.lic1());
 
         antiMissileSystem.parameters.radius1 = -1; // negative radius1 is not allowed
+        antiMissileSystem.recompile();
         assertFalse(antiMissileSystem.lic1());
 
         antiMissileSystem.parameters.radius1 = 1.5; // should fail
+        antiMissileSystem.recompile();
         assertFalse(antiMissileSystem.lic1());
 
         // Assigning new points where all points are outside the circle with radius radius1
-        antiMissileSystem.points[0] = new Point(-2.0, 0.0);
-        antiMissileSystem.points[1] = new Point(0.0, 2.0);
-        antiMissileSystem.points[2] = new Point(2.0, 0.0);
+        antiMissileSystem.setPoints(new Point[]{
+                new Point(-2.0, 0.0),
+                new Point(0.0, 2.0),
+                new Point(2.0, 0.0)
+        });
         assertTrue(antiMissileSystem.lic1());
 
         // A radius of 10 should return false
         antiMissileSystem.parameters.radius1 = 10;
+        antiMissileSystem.recompile();
         assertFalse(antiMissileSystem.lic1());
     }
   
@@ -138,9 +180,11 @@ public class AntiMissileSystemTest {
         assertTrue(testSystem.lic2());
 
         testSystem.parameters.epsilon = PI*0.499; // Epsilon is almost 90 degrees (measured in radians)
+        testSystem.recompile();
         assertTrue(testSystem.lic2());
 
         testSystem.parameters.epsilon = PI*0.50; // Epsilon is 90 degrees (measured in radians)
+        testSystem.recompile();
         assertFalse(testSystem.lic2());
     }
   
@@ -156,9 +200,11 @@ public class AntiMissileSystemTest {
         assertTrue(testSystem.lic3());
 
         testSystem.parameters.area1 = 1.0;
+        testSystem.recompile();
         assertTrue(testSystem.lic3());
 
         testSystem.parameters.area1 = 5.0;
+        testSystem.recompile();
         assertFalse(testSystem.lic3());
     }
 
@@ -190,6 +236,67 @@ public class AntiMissileSystemTest {
         assertFalse(testSystem.lic4());
     }
 
+    @Test
+    void testLic4Windows() {
+        // Contract: the sliding window of Lic4 counts the quadrants of exactly the Q_PTS points
+        // of every window, including the window of the whole track and the last window.
+        Parameters parameters = new Parameters();
+
+        // Q_PTS == NUMPOINTS: the only window is the whole track
+        Point[] threeQuadrants = {new Point(1, 1), new Point(-1, 1), new Point(-1, -1)};
+        parameters.qPts = 3;
+        parameters.qUads = 2;
+        assertTrue(new AntiMissileSystem(3, threeQuadrants, parameters, null, null).lic4());
+        parameters.qUads = 3;
+        assertFalse(new AntiMissileSystem(3, threeQuadrants, parameters, null, null).lic4());
+
+        // QUADS == 3: only the last window lies in all four quadrants
+        Point[] lastWindow = {new Point(1, 1), new Point(1, 1), new Point(-1, 1), new Point(-1, -1),
+                new Point(1, -1)};
+        parameters.qPts = 4;
+        parameters.qUads = 3;
+        assertTrue(new AntiMissileSystem(5, lastWindow, parameters, null, null).lic4());
+        assertFalse(new AntiMissileSystem(4, lastWindow, parameters, null, null).lic4());
+
+        // The first point leaves the window while its quadrant is still represented by a
+        // duplicate, so the second window lies in three quadrants
+        Point[] duplicate = {new Point(1, 1), new Point(2, 2), new Point(-1, 1), new Point(-1, -1)};
+        parameters.qPts = 3;
+        parameters.qUads = 2;
+        assertTrue(new AntiMissileSystem(4, duplicate, parameters, null, null).lic4());
+        assertFalse(new AntiMissileSystem(3, duplicate, parameters, null, null).lic4());
+    }
+
+    @Test
+    void testLic4Axes() {
+        // Contract: points on the axes are assigned by the priority of the specification: the
+        // origin and the positive axes belong to quadrant I, the negative x-axis to quadrant II
+        // and the negative y-axis to quadrant III.
+        Parameters parameters = new Parameters();
+        parameters.qPts = 2;
+        parameters.qUads = 1;
+
+        Point[] origin = {new Point(0, 0), new Point(1, 1)};
+        assertFalse(new AntiMissileSystem(2, origin, parameters, null, null).lic4());
+        Point[] positiveAxes = {new Point(1, 0), new Point(0, 1)};
+        assertFalse(new AntiMissileSystem(2, positiveAxes, parameters, null, null).lic4());
+        Point[] negativeX = {new Point(-1, 0), new Point(-1, 1)};
+        assertFalse(new AntiMissileSystem(2, negativeX, parameters, null, null).lic4());
+        Point[] negativeY = {new Point(0, -1), new Point(-1, -1)};
+        assertFalse(new AntiMissileSystem(2, negativeY, parameters, null, null).lic4());
+
+        Point[] negativeYAndIV = {new Point(0, -1), new Point(1, -1)};
+        assertTrue(new AntiMissileSystem(2, negativeYAndIV, parameters, null, null).lic4());
+        Point[] originAndNegativeX = {new Point(0, 0), new Point(-1, 0)};
+        assertTrue(new AntiMissileSystem(2, originAndNegativeX, parameters, null, null).lic4());
+
+        // The origin, the negative x-axis and the negative y-axis are three quadrants
+        Point[] axes = {new Point(0, 0), new Point(-1, 0), new Point(0, -1)};
+        parameters.qPts = 3;
+        parameters.qUads = 2;
+        assertTrue(new AntiMissileSystem(3, axes, parameters, null, null).lic4());
+    }
+
     @Test
     void testLic5() {
         // Contract: Lic5 returns true iff there exists at least one set of two data points
@@ -247,6 +354,35 @@ public class AntiMissileSystemTest {
         assertTrue(testSystem.lic6());
     }
 
+    @Test
+    void testLic6Hulls() {
+        // Contract: lic6() returns the same result whether the windows are scanned or
+        // evaluated through their convex hulls.
+        Random random = new Random(6);
+        for (int run = 0; run < 2000; run++) {
+            int numPoints = 3 + random.nextInt(300);
+            int range = run % 3 == 0 ? 3 : 50;
+            int period = 1 + random.nextInt(numPoints);
+            double[] xs = new double[numPoints];
+            double[] ys = new double[numPoints];
+            for (int i = 0; i < numPoints; i++) {
+                // Repeating the track makes windows whose first and last point coincide
+                xs[i] = i < period ? random.nextInt(2 * range + 1) - range : xs[i - period];
+                ys[i] = i < period ? random.nextInt(2 * range + 1) - range : ys[i - period];
+            }
+            Parameters parameters = new Parameters();
+            parameters.nPTS = random.nextBoolean() ? period + 1 : 3 + random.nextInt(numPoints - 2);
+            parameters.dist = random.nextInt(2 * range + 10) * 0.5;
+
+            AntiMissileSystem scan = new AntiMissileSystem(numPoints, xs, ys, parameters, null, null);
+            scan.lic6HullThreshold = Integer.MAX_VALUE;
+            AntiMissileSystem hulls = new AntiMissileSystem(numPoints, xs, ys, parameters, null, null);
+            hulls.lic6HullThreshold = 0;
+
+            assertEquals(scan.lic6(), hulls.lic6());
+        }
+    }
+
     @Test
     void testLic7() {
         // Contract: Lic9 returns true iff there exists at least one set of two data points
@@ -260,13 +396,14 @@ public class AntiMissileSystemTest {
 
         testSystem.numPoints++;
         Point[] unvalidPoints = {new Point(0.0,0.0), new Point(1.0,0.0), new Point(0.0,1.0)};
-        testSystem.points = unvalidPoints;
+        testSystem.setPoints(unvalidPoints);
         testSystem.parameters.kPTS = 1;
         testSystem.parameters.length1 = 2.0;
+        testSystem.recompile();
         assertFalse(testSystem.lic7());
 
         Point[] validPoints = {new Point(0.0,0.0), new Point(3.0,0.0), new Point(5.0,0.0)};
-        testSystem.points = validPoints;
+        testSystem.setPoints(validPoints);
         assertTrue(testSystem.lic7());
     }
 
@@ -335,13 +472,15 @@ public class AntiMissileSystemTest {
         testSystem.numPoints+=2;
         Point[] newPoints = {new Point(-1.0,-1.0), new Point(24.534,232.4),
                 new Point(0.0,0.0), new Point(1.0,0.0), new Point(1.0, -1.0)};
-        testSystem.points = newPoints;
+        testSystem.setPoints(newPoints);
         testSystem.parameters.cPTS = 1;
         testSystem.parameters.dPTS = 1;
         testSystem.parameters.epsilon = PI*0.5; // Epsilon is 90 degrees (measured in radians)
+        testSystem.recompile();
         assertFalse(testSystem.lic9());
 
         testSystem.parameters.epsilon = PI*0.499; // Epsilon is almost 90 degrees (measured in radians)
+        testSystem.recompile();
         assertTrue(testSystem.lic9());
     }
   
@@ -360,12 +499,14 @@ public class AntiMissileSystemTest {
 
         Point[] newPoints = {new Point(0.0,0.0), new Point(1.0,1.0), new Point(1.0,0.0), new Point(-1.0,-1.0), new Point(1.0,2.0)};
         testSystem.numPoints++;
-        testSystem.points = newPoints;
+        testSystem.setPoints(newPoints);
         testSystem.parameters.ePTS = 1;
         testSystem.parameters.fPTS = 1;
+        testSystem.recompile();
         assertTrue(testSystem.lic10());
 
         testSystem.parameters.area1 = 1.0;
+        testSystem.recompile();
         assertFalse(testSystem.lic10());
     }
 
@@ -428,8 +569,9 @@ public class AntiMissileSystemTest {
 
         testSystem.numPoints++;
         Point[] newPoints = {new Point(0.0,0.0), new Point(1.0,1.0), new Point(-1.0,323434.4)};
-        testSystem.points = newPoints;
+        testSystem.setPoints(newPoints);
         testSystem.parameters.gPTS = 1;
+        testSystem.recompile();
         assertTrue(testSystem.lic11());
     }
   
@@ -448,10 +590,11 @@ public class AntiMissileSystemTest {
 
         testSystem.numPoints++;
         Point[] newPoints = {new Point(0.0,0.0), new Point(5.0,0.0), new Point(3.0,0.0)};
-        testSystem.points = newPoints;
+        testSystem.setPoints(newPoints);
         testSystem.parameters.kPTS = 1;
         testSystem.parameters.length1 = 2.0;
         testSystem.parameters.length2 = 5.0;
+        testSystem.recompile();
         assertTrue(testSystem.lic12());
     }
 
@@ -480,6 +623,7 @@ public class AntiMissileSystemTest {
         assertFalse(testSystem.lic13());
 
         testSystem.parameters.radius2 = 0;
+        testSystem.recompile();
         testSystem.numPoints = 5;
         assertFalse(testSystem.lic13());
 
@@ -487,10 +631,12 @@ public class AntiMissileSystemTest {
         testSystem.parameters.radius2 = 1;
         testSystem.parameters.aPTS = 0;
         testSystem.parameters.bPTS = 0;
+        testSystem.recompile();
         assertFalse(testSystem.lic13());
 
         testSystem.parameters.radius1 = 1;
         testSystem.parameters.radius2 = 10;
+        testSystem.recompile();
         assertTrue(testSystem.lic13());
     }
 
@@ -526,10 +672,11 @@ public class AntiMissileSystemTest {
 
         // The same set of points meet both conditions
         antiMissileSystem.numPoints++;
-        antiMissileSystem.points = newPoints;
+        antiMissileSystem.setPoints(newPoints);
         antiMissileSystem.parameters.ePTS = 1;
         antiMissileSystem.parameters.fPTS = 1;
         antiMissileSystem.parameters.area2 = 2;
+        antiMissileSystem.recompile();
         assertTrue(antiMissileSystem.lic14());
 
         // points 1, 3, 5 form a triangle with area = 1
@@ -547,11 +694,12 @@ public class AntiMissileSystemTest {
 
         // Different sets of points meet each conditions
         antiMissileSystem.numPoints = 8;
-        antiMissileSystem.points = diffPoints;
+        antiMissileSystem.setPoints(diffPoints);
         antiMissileSystem.parameters.ePTS = 1;
         antiMissileSystem.parameters.fPTS = 1;
         antiMissileSystem.parameters.area1 = 0.5;
         antiMissileSystem.parameters.area2 = 3;
+        antiMissileSystem.recompile();
         assertTrue(antiMissileSystem.lic14());
     }
 
@@ -582,6 +730,7 @@ public class AntiMissileSystemTest {
         antiMissileSystem.parameters.nPTS = 5;
         antiMissileSystem.parameters.dist = 1.5;
         antiMissileSystem.parameters.area2 = 4;
+        antiMissileSystem.recompile();
 
         for (int i = 0; i < 15; i++) {
             assertFalse(antiMissileSystem.cmv[i]);
@@ -609,6 +758,33 @@ public class AntiMissileSystemTest {
         assertArrayEquals(bosse, antiMissileSystem.cmv);
     }
 
+    @Test
+    void testPopulateCMVParallel() {
+        // Contract: populateCMV(pool) sets the same cmv as populateCMV(), whether or not the
+        // track is long enough to be evaluated in parallel.
+        Random random = new Random(3);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int run = 0; run < 20; run++) {
+                Parameters parameters = RandomTracks.parameters(random);
+                int numPoints = 2 + random.nextInt(200);
+                double[] xs = RandomTracks.coordinates(random, numPoints);
+                double[] ys = RandomTracks.coordinates(random, numPoints);
+
+                AntiMissileSystem sequential = new AntiMissileSystem(numPoints, xs, ys, parameters, null, null);
+                sequential.populateCMV();
+
+                AntiMissileSystem parallel = new AntiMissileSystem(numPoints, xs, ys, parameters, null, null);
+                parallel.parallelThreshold = run % 2 == 0 ? 0 : Integer.MAX_VALUE;
+                parallel.populateCMV(pool);
+
+                assertArrayEquals(sequential.cmv, parallel.cmv);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     void testFuv() {
         // Contract: creates an array of length 15, each element is a boolean.
@@ -637,6 +813,75 @@ public class AntiMissileSystemTest {
         assertFalse(testSystem.areAllTrue(testSystem.fuv));
     }
 
+    @Test
+    void testFuvReused() {
+        // Contract: generateFUV() also sets the elements that are false, so a FUV that was
+        // all true becomes false when a PUM row no longer is.
+        boolean[] puv = new boolean[15];
+        Arrays.fill(puv, true);
+        AntiMissileSystem testSystem = new AntiMissileSystem(1, new Point[]{new Point(1.0, 1.0)}, new Parameters(), null, puv);
+        for (boolean[] row : testSystem.pum) {
+            Arrays.fill(row, true);
+        }
+        testSystem.generateFUV();
+        assertTrue(testSystem.decide());
+
+        testSystem.pum[7][3] = false;
+        testSystem.generateFUV();
+        assertFalse(testSystem.fuv[7]);
+        assertFalse(testSystem.decide());
+    }
+
+    @Test
+    void testReset() {
+        // Contract: one instance rebound with reset() to track after track and configuration
+        // after configuration computes the same cmv, pum, fuv and decision as a new instance,
+        // and reset() clears cmv, pum and fuv.
+        Random random = new Random(11);
+        AntiMissileSystem reused = new AntiMissileSystem();
+        for (int run = 0; run < 200; run++) {
+            Parameters parameters = RandomTracks.parameters(random);
+            Connector[][] lcm = RandomTracks.lcm(random);
+            boolean[] puv = RandomTracks.puv(random);
+            if (run % 3 == 0) {
+                reused.reset(parameters, lcm, puv);
+                if (run % 2 == 0) {
+                    reused.setConfiguration(Configuration.compile(parameters, lcm, puv));
+                }
+            } else {
+                parameters = reused.parameters;
+                lcm = reused.lcm;
+                puv = reused.puv;
+            }
+            int numPoints = 2 + random.nextInt(40);
+            double[] xs = RandomTracks.coordinates(random, numPoints);
+            double[] ys = RandomTracks.coordinates(random, numPoints);
+            reused.reset(numPoints, xs, ys);
+            for (int i = 0; i < 15; i++) {
+                assertFalse(reused.cmv[i] || reused.fuv[i]);
+                for (int j = 0; j < 15; j++) {
+                    assertFalse(reused.pum[i][j]);
+                }
+            }
+
+            AntiMissileSystem fresh = new AntiMissileSystem(numPoints, xs, ys, parameters, lcm, puv);
+            fresh.populateCMV();
+            fresh.populatePUM();
+            fresh.generateFUV();
+            reused.populateCMV();
+            reused.populatePUM();
+            reused.generateFUV();
+
+            assertArrayEquals(fresh.cmv, reused.cmv);
+            for (int i = 0; i < 15; i++) {
+                assertArrayEquals(fresh.pum[i], reused.pum[i]);
+            }
+            assertArrayEquals(fresh.fuv, reused.fuv);
+            assertEquals(fresh.decide(), reused.decide());
+            assertEquals(fresh.decide(), reused.decideLazily());
+        }
+    }
+
     @Test
     void testPopulatePUM() {
          // Contract: global variable pum gets populated with boolean values.
@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BatchAntiMissileSystemTest {
+
+    @Test
+    void testMatchesAntiMissileSystem() {
+        // Contract: the decision and CMV of every track in a batch are the same as those of an
+        // AntiMissileSystem constructed for that track alone.
+        Random random = new Random(7);
+        for (int run = 0; run < 50; run++) {
+            Parameters parameters = RandomTracks.parameters(random);
+            Connector[][] lcm = RandomTracks.lcm(random);
+            boolean[] puv = RandomTracks.puv(random);
+
+            int numTracks = 1 + random.nextInt(30);
+            int[] numPoints = new int[numTracks];
+            double[][] xs = new double[numTracks][];
+            double[][] ys = new double[numTracks][];
+            for (int track = 0; track < numTracks; track++) {
+                numPoints[track] = 2 + random.nextInt(30);
+                xs[track] = RandomTracks.coordinates(random, numPoints[track]);
+                ys[track] = RandomTracks.coordinates(random, numPoints[track]);
+            }
+
+            BatchAntiMissileSystem batch = new BatchAntiMissileSystem(parameters, lcm, puv);
+            BitSet decisions = new BitSet();
+            short[] cmvs = new short[numTracks];
+            batch.decide(numPoints, xs, ys, decisions, cmvs);
+            assertEquals(decisions, batch.decide(numPoints, xs, ys));
+
+            for (int track = 0; track < numTracks; track++) {
+                AntiMissileSystem antiMissileSystem =
+                        new AntiMissileSystem(numPoints[track], xs[track], ys[track], parameters, lcm, puv);
+                antiMissileSystem.populateCMV();
+                antiMissileSystem.populatePUM();
+                antiMissileSystem.generateFUV();
+
+                assertEquals(antiMissileSystem.decide(), decisions.get(track));
+                for (int lic = 0; lic < 15; lic++) {
+                    assertEquals(antiMissileSystem.cmv[lic], (cmvs[track] & (1 << lic)) != 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        // Contract: a batch evaluated in a ForkJoinPool gives the same decisions and CMVs as the
+        // same batch evaluated sequentially.
+        Random random = new Random(11);
+        Parameters parameters = RandomTracks.parameters(random);
+        Connector[][] lcm = RandomTracks.lcm(random);
+        boolean[] puv = RandomTracks.puv(random);
+
+        int numTracks = 1000;
+        int[] numPoints = new int[numTracks];
+        double[][] xs = new double[numTracks][];
+        double[][] ys = new double[numTracks][];
+        for (int track = 0; track < numTracks; track++) {
+            numPoints[track] = 2 + random.nextInt(30);
+            xs[track] = RandomTracks.coordinates(random, numPoints[track]);
+            ys[track] = RandomTracks.coordinates(random, numPoints[track]);
+        }
+
+        BatchAntiMissileSystem sequential = new BatchAntiMissileSystem(parameters, lcm, puv);
+        BitSet expectedDecisions = new BitSet();
+        short[] expectedCmvs = new short[numTracks];
+        sequential.decide(numPoints, xs, ys, expectedDecisions, expectedCmvs);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BatchAntiMissileSystem parallel = new BatchAntiMissileSystem(parameters, lcm, puv, pool);
+            parallel.tracksPerTask = 64;
+            BitSet decisions = new BitSet();
+            short[] cmvs = new short[numTracks];
+            parallel.decide(numPoints, xs, ys, decisions, cmvs);
+
+            assertEquals(expectedDecisions, decisions);
+            assertArrayEquals(expectedCmvs, cmvs);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompiledParametersTest {
+
+    private static Parameters validParameters() {
+        Parameters parameters = new Parameters();
+        parameters.length1 = 3;
+        parameters.radius1 = -2;
+        parameters.epsilon = 0.5;
+        parameters.area1 = 1.5;
+        parameters.qPts = 2;
+        parameters.qUads = 1;
+        parameters.nPTS = 3;
+        parameters.kPTS = 1;
+        parameters.aPTS = 1;
+        parameters.bPTS = 1;
+        parameters.cPTS = 1;
+        parameters.dPTS = 1;
+        parameters.ePTS = 1;
+        parameters.fPTS = 2;
+        parameters.gPTS = 1;
+        return parameters;
+    }
+
+    @Test
+    void testDerivedConstants() {
+        // Contract: the snapshot holds the squared lengths and radii, doubled areas, the cosine
+        // of PI - EPSILON, the gaps and the LICs whose parameter checks pass.
+        CompiledParameters compiled = new CompiledParameters(validParameters());
+        assertEquals(9.0, compiled.length1Squared);
+        assertEquals(-4.0, compiled.radius1Squared);
+        assertEquals(3.0, compiled.doubledArea1);
+        assertEquals(Math.cos(Math.PI - 0.5), compiled.cosAngleLimit);
+        assertEquals(3, compiled.fGap);
+        assertFalse(compiled.possible(1));
+        assertFalse(compiled.possible(8));
+        assertFalse(compiled.possible(13));
+        assertTrue(compiled.possible(4));
+    }
+
+    @Test
+    void testValidate() {
+        // Contract: validate() throws an IllegalArgumentException iff a constraint of the
+        // specification does not hold for the number of points.
+        Parameters parameters = validParameters();
+        parameters.radius1 = 2;
+        new CompiledParameters(parameters).validate(6);
+        assertThrows(IllegalArgumentException.class, () -> new CompiledParameters(parameters).validate(5));
+
+        parameters.qUads = 4;
+        assertThrows(IllegalArgumentException.class, () -> new CompiledParameters(parameters).validate(6));
+    }
+
+    @Test
+    void testRecompiledOnRequest() {
+        // Contract: AntiMissileSystem compiles its parameters when they are bound and keeps
+        // them, also when they are modified in place, until recompile().
+        Parameters parameters = validParameters();
+        AntiMissileSystem system = new AntiMissileSystem(0, new double[0], new double[0], parameters, null, null);
+        CompiledParameters compiled = system.compiledParameters();
+        assertSame(compiled, system.compiledParameters());
+        assertTrue(compiled.matches(parameters));
+
+        parameters.length1 = 4;
+        assertSame(compiled, system.compiledParameters());
+        system.recompile();
+        assertNotSame(compiled, system.compiledParameters());
+        assertEquals(16.0, system.compiledParameters().length1Squared);
+    }
+}
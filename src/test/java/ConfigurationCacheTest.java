@@ -0,0 +1,105 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ConfigurationCacheTest {
+
+    @Test
+    void testSharesEqualConfigurations() {
+        // Contract: equal configurations share one Configuration, whether or not they are the
+        // same objects, and a modified configuration is compiled again.
+        Random random = new Random(1);
+        Parameters parameters = RandomTracks.parameters(random);
+        Connector[][] lcm = RandomTracks.lcm(random);
+        boolean[] puv = RandomTracks.puv(random);
+        ConfigurationCache cache = new ConfigurationCache(4);
+
+        Configuration configuration = cache.get(parameters, lcm, puv);
+        Connector[][] lcmCopy = new Connector[15][];
+        for (int i = 0; i < 15; i++) {
+            lcmCopy[i] = lcm[i].clone();
+        }
+        assertSame(configuration, cache.get(parameters, lcmCopy, puv.clone()));
+
+        lcmCopy[3][7] = lcmCopy[3][7] == Connector.ANDD ? Connector.ORR : Connector.ANDD;
+        assertNotSame(configuration, cache.get(parameters, lcmCopy, puv));
+        parameters.radius1 += 1;
+        assertNotSame(configuration, cache.get(parameters, lcm, puv));
+
+        assertEquals(1, cache.hits());
+        assertEquals(3, cache.misses());
+        assertEquals(0, cache.evictions());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        // Contract: beyond the capacity the least recently used configuration is evicted.
+        Random random = new Random(2);
+        Connector[][] lcm = RandomTracks.lcm(random);
+        boolean[] puv = RandomTracks.puv(random);
+        Parameters[] parameters = new Parameters[3];
+        for (int i = 0; i < 3; i++) {
+            parameters[i] = RandomTracks.parameters(random);
+            parameters[i].length1 = i;
+        }
+        ConfigurationCache cache = new ConfigurationCache(2);
+
+        Configuration first = cache.get(parameters[0], lcm, puv);
+        cache.get(parameters[1], lcm, puv);
+        assertSame(first, cache.get(parameters[0], lcm, puv));
+        cache.get(parameters[2], lcm, puv);
+
+        assertEquals(1, cache.evictions());
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get(parameters[0], lcm, puv));
+        cache.get(parameters[1], lcm, puv);
+        assertEquals(4, cache.misses());
+    }
+
+    @Test
+    void testConcurrentBatches() throws Exception {
+        // Contract: batches built concurrently from a shared cache decide like batches that
+        // compile their own configuration.
+        Random random = new Random(3);
+        final Parameters parameters = RandomTracks.parameters(random);
+        final Connector[][] lcm = RandomTracks.lcm(random);
+        final boolean[] puv = RandomTracks.puv(random);
+        final int[] numPoints = new int[50];
+        final double[][] xs = new double[50][];
+        final double[][] ys = new double[50][];
+        for (int track = 0; track < 50; track++) {
+            numPoints[track] = 2 + random.nextInt(30);
+            xs[track] = RandomTracks.coordinates(random, numPoints[track]);
+            ys[track] = RandomTracks.coordinates(random, numPoints[track]);
+        }
+        BitSet expected = new BatchAntiMissileSystem(parameters, lcm, puv).decide(numPoints, xs, ys);
+
+        final ConfigurationCache cache = new ConfigurationCache(8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<BitSet>> decisions = new ArrayList<Future<BitSet>>();
+            for (int i = 0; i < 16; i++) {
+                decisions.add(executor.submit(() ->
+                        new BatchAntiMissileSystem(parameters, lcm, puv, null, cache).decide(numPoints, xs, ys)));
+            }
+            for (Future<BitSet> decision : decisions) {
+                assertEquals(expected, decision.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(16, cache.hits() + cache.misses());
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,244 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DecideCommandTest {
+
+    private static String run(String input, String... args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int status = DecideCommand.run(args, new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)),
+                out, new PrintStream(err));
+        return status + "\n" + new String(out.toByteArray(), StandardCharsets.US_ASCII)
+                + new String(err.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static void append(StringBuilder text, double value, Random random) {
+        // The formats a hand-written in.txt may use besides Double.toString()
+        if (value == Math.rint(value) && random.nextBoolean()) {
+            text.append((long) value).append(random.nextBoolean() ? "" : ".0");
+        } else if (random.nextBoolean()) {
+            text.append(String.format("%.6e", value));
+        } else {
+            text.append(value);
+        }
+    }
+
+    @Test
+    void testConcatenatedCases() {
+        // Contract: every case of a stream is decided like an AntiMissileSystem built from the
+        // same values, whatever the layout of the tokens, and the outcome is written with the
+        // CMV and FUV on request.
+        Random random = new Random(5);
+        StringBuilder input = new StringBuilder("# generated cases\n");
+        StringBuilder expected = new StringBuilder("0\n");
+        for (int c = 0; c < 100; c++) {
+            int numPoints = 2 + random.nextInt(c % 10 == 0 ? 300 : 20);
+            double[] xs = RandomTracks.coordinates(random, numPoints);
+            double[] ys = RandomTracks.coordinates(random, numPoints);
+            for (int i = 0; i < numPoints; i++) {
+                xs[i] += random.nextInt(4) == 0 ? random.nextGaussian() : 0;
+            }
+            Parameters parameters = RandomTracks.parameters(random);
+            Connector[][] lcm = RandomTracks.lcm(random);
+            boolean[] puv = RandomTracks.puv(random);
+
+            String separator = c % 2 == 0 ? "\n" : " ";
+            input.append(numPoints).append(separator);
+            for (int i = 0; i < numPoints; i++) {
+                append(input, xs[i], random);
+                input.append(' ');
+                append(input, ys[i], random);
+                input.append(separator);
+            }
+            double[] doubles = {parameters.length1, parameters.radius1, parameters.epsilon, parameters.area1};
+            for (double value : doubles) {
+                append(input, value, random);
+                input.append(' ');
+            }
+            input.append(parameters.qPts).append(' ').append(parameters.qUads).append(' ');
+            append(input, parameters.dist, random);
+            int[] ints = {parameters.nPTS, parameters.kPTS, parameters.aPTS, parameters.bPTS, parameters.cPTS,
+                    parameters.dPTS, parameters.ePTS, parameters.fPTS, parameters.gPTS};
+            for (int value : ints) {
+                input.append(' ').append(value);
+            }
+            input.append("\t").append(parameters.length2).append(' ').append(parameters.radius2)
+                    .append(' ').append(parameters.area2).append("  # parameters\r\n");
+            for (int i = 0; i < 15; i++) {
+                for (int j = 0; j < 15; j++) {
+                    input.append(lcm[i][j]).append(' ');
+                }
+                input.append(separator);
+            }
+            for (int i = 0; i < 15; i++) {
+                input.append(puv[i]).append(' ');
+            }
+            input.append(separator);
+
+            AntiMissileSystem system = new AntiMissileSystem(numPoints, xs, ys, parameters, lcm, puv);
+            system.populateCMV();
+            system.populatePUM();
+            system.generateFUV();
+            expected.append(system.decide() ? "YES" : "NO").append('\n');
+            expected.append("CMV");
+            for (boolean value : system.cmv) {
+                expected.append(' ').append(value);
+            }
+            expected.append("\nFUV");
+            for (boolean value : system.fuv) {
+                expected.append(' ').append(value);
+            }
+            expected.append('\n');
+        }
+        assertEquals(expected.toString(), run(input.toString(), "--cmv", "--fuv"));
+    }
+
+    @Test
+    void testParsesDoublesExactly() {
+        // Contract: numbers are parsed to the same double as Double.parseDouble().
+        Random random = new Random(6);
+        String[] tokens = new String[2000];
+        for (int i = 0; i < tokens.length; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            switch (i % 5) {
+                case 0: tokens[i] = Double.toString(value); break;
+                case 1: tokens[i] = Double.toString(random.nextGaussian() * 1e3); break;
+                case 2: tokens[i] = String.format("%.3f", random.nextDouble() * 200 - 100); break;
+                case 3: tokens[i] = (random.nextInt(2000) - 1000) + "e" + (random.nextInt(50) - 25); break;
+                default: tokens[i] = "-." + random.nextInt(100000); break;
+            }
+            if (tokens[i].equals("NaN") || tokens[i].contains("Infinity")) {
+                tokens[i] = "0";
+            }
+        }
+        for (String token : tokens) {
+            StringBuilder input = new StringBuilder("2 ").append(token).append(" 0 0 0 ");
+            input.append("1 1 1 1 2 1 1 3 1 1 1 1 1 1 1 1 1 1 1\n");
+            for (int i = 0; i < 15 * 15; i++) {
+                input.append("NOTUSED ");
+            }
+            for (int i = 0; i < 15; i++) {
+                input.append("false ");
+            }
+            AntiMissileSystem system = new AntiMissileSystem(0, new double[0], new double[0], new Parameters(),
+                    new Connector[15][15], new boolean[15]);
+            try {
+                new CaseReader(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.US_ASCII)))
+                        .read(system);
+            } catch (java.io.IOException e) {
+                throw new AssertionError(token, e);
+            }
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(token)), Double.doubleToLongBits(system.xs[0]), token);
+        }
+    }
+
+    @Test
+    void testReportsMalformedInput() {
+        // Contract: a malformed case is reported with its line and exit status 1, after the
+        // outcomes of the cases before it; unknown options print the usage with status 2.
+        StringBuilder valid = new StringBuilder("3\n0 0\n1 1\n2 2\n0 0 0 0 2 1 0 3 1 1 1 1 1 1 1 1 0 0 0\n");
+        for (int i = 0; i < 15 * 15; i++) {
+            valid.append("NOTUSED ");
+        }
+        valid.append('\n');
+        for (int i = 0; i < 15; i++) {
+            valid.append("false ");
+        }
+        valid.append('\n');
+
+        String output = run(valid + "3\n0 0\n1 x\n");
+        assertTrue(output.startsWith("1\nYES\nAntiMissileSystem: Line 10: expected a number, found 'x'"), output);
+        output = run(valid + "3\n0 0\n");
+        assertTrue(output.startsWith("1\nYES\nAntiMissileSystem: Line 10: unexpected end of input"), output);
+        output = run(valid.toString().replace("NOTUSED", "AND"));
+        assertTrue(output.contains("expected ANDD, ORR or NOTUSED, found 'AND'"), output);
+        assertTrue(run("", "--verbose").startsWith("2\nUsage"));
+        assertEquals("0\n", run("  \n# no cases\n"));
+        assertEquals(Arrays.asList("0", "YES", "YES"), Arrays.asList(run(valid + valid.toString(), "-", "-").split("\n")));
+    }
+
+    @Test
+    void testFingerprintPerCase() {
+        // Contract: the decision of every case reports the fingerprint of its own configuration,
+        // also when consecutive cases differ only in the LCM, which is read in place.
+        Parameters parameters = new Parameters();
+        Connector[][] lcm = new Connector[15][15];
+        for (Connector[] row : lcm) {
+            Arrays.fill(row, Connector.NOTUSED);
+        }
+        boolean[] puv = new boolean[15];
+        StringBuilder input = new StringBuilder("3\n0 0\n1 1\n2 2\n0 0 0 0 2 1 0 3 1 1 1 1 1 1 1 1 0 0 0\n");
+        StringBuilder other = new StringBuilder(input);
+        for (int i = 0; i < 15 * 15; i++) {
+            input.append("NOTUSED ");
+            other.append(i == 0 ? "ANDD " : "NOTUSED ");
+        }
+        for (int i = 0; i < 15; i++) {
+            input.append("false ");
+            other.append("false ");
+        }
+        parameters.qPts = 2;
+        parameters.qUads = 1;
+        parameters.nPTS = 3;
+        parameters.kPTS = 1;
+        parameters.aPTS = 1;
+        parameters.bPTS = 1;
+        parameters.cPTS = 1;
+        parameters.dPTS = 1;
+        parameters.ePTS = 1;
+        parameters.fPTS = 1;
+        parameters.gPTS = 1;
+        long unused = ConfigurationCache.fingerprint(parameters, lcm, puv);
+        lcm[0][0] = Connector.ANDD;
+        long anded = ConfigurationCache.fingerprint(parameters, lcm, puv);
+        assertNotEquals(unused, anded);
+
+        List<Long> fingerprints = new ArrayList<>();
+        DecideCommand command = new DecideCommand();
+        command.events = new DecisionEvents() {
+            @Override
+            public Object beginDecision() {
+                return this;
+            }
+
+            @Override
+            public void commitDecision(Object event, int numPoints, long fingerprint, long cmvNanos, long pumNanos,
+                                       long fuvNanos, boolean lazy, boolean launch) {
+                fingerprints.add(fingerprint);
+            }
+
+            @Override
+            public boolean licEnabled() {
+                return false;
+            }
+
+            @Override
+            public Object beginLic() {
+                return null;
+            }
+
+            @Override
+            public void commitLic(Object event, int lic, int numPoints, boolean met) {
+            }
+        };
+        try {
+            command.decide(new ByteArrayInputStream((input + "\n" + other + "\n" + input)
+                    .getBytes(StandardCharsets.US_ASCII)), new ByteArrayOutputStream());
+        } catch (java.io.IOException e) {
+            throw new AssertionError(e);
+        }
+        assertEquals(Arrays.asList(unused, anded, unused), fingerprints);
+    }
+}
@@ -0,0 +1,125 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DecisionMetricsTest {
+
+    @Test
+    void testRecordsPipeline() {
+        // Contract: with metrics set, every LIC evaluation, its outcome and every stage of the
+        // eager pipeline is recorded, and the outcomes are unchanged.
+        Random random = new Random(12);
+        DecisionMetrics metrics = new DecisionMetrics();
+        long[] met = new long[15];
+        int runs = 50;
+        for (int run = 0; run < runs; run++) {
+            int numPoints = 2 + random.nextInt(30);
+            double[] xs = RandomTracks.coordinates(random, numPoints);
+            double[] ys = RandomTracks.coordinates(random, numPoints);
+            Parameters parameters = RandomTracks.parameters(random);
+            Connector[][] lcm = RandomTracks.lcm(random);
+            boolean[] puv = RandomTracks.puv(random);
+
+            AntiMissileSystem plain = new AntiMissileSystem(numPoints, xs, ys, parameters, lcm, puv);
+            plain.populateCMV();
+            AntiMissileSystem recorded = new AntiMissileSystem(numPoints, xs, ys, parameters, lcm, puv);
+            recorded.metrics = metrics;
+            recorded.populateCMV();
+            recorded.populatePUM();
+            recorded.generateFUV();
+
+            for (int lic = 0; lic < 15; lic++) {
+                assertEquals(plain.cmv[lic], recorded.cmv[lic]);
+                met[lic] += plain.cmv[lic] ? 1 : 0;
+            }
+        }
+
+        DecisionMetrics.Snapshot snapshot = metrics.snapshot();
+        for (int lic = 0; lic < 15; lic++) {
+            assertEquals(runs, snapshot.evaluations(lic));
+            assertEquals(met[lic], snapshot.met(lic));
+            assertEquals((double) met[lic] / runs, snapshot.metRate(lic));
+            assertEquals(runs, snapshot.licLatency(lic).count);
+        }
+        for (int stage = 0; stage < 3; stage++) {
+            assertEquals(runs, snapshot.stageLatency(stage).count);
+        }
+    }
+
+    @Test
+    void testRecordsLazyExits() {
+        // Contract: every lazy decision is counted once by the number of LICs it evaluated,
+        // which is the number of LIC evaluations recorded, also through a batch.
+        Random random = new Random(13);
+        DecisionMetrics metrics = new DecisionMetrics();
+        Parameters parameters = RandomTracks.parameters(random);
+        Connector[][] lcm = RandomTracks.lcm(random);
+        boolean[] puv = RandomTracks.puv(random);
+        int runs = 100;
+        for (int run = 0; run < runs; run++) {
+            int numPoints = 2 + random.nextInt(30);
+            AntiMissileSystem system = new AntiMissileSystem(numPoints, RandomTracks.coordinates(random, numPoints),
+                    RandomTracks.coordinates(random, numPoints), parameters, lcm, puv);
+            system.metrics = metrics;
+            system.decideLazily();
+        }
+        DecisionMetrics.Snapshot snapshot = metrics.snapshot();
+        long decisions = 0;
+        long evaluated = 0;
+        long evaluations = 0;
+        for (int i = 0; i <= 15; i++) {
+            decisions += snapshot.lazyDecisions(i);
+            evaluated += i * snapshot.lazyDecisions(i);
+        }
+        for (int lic = 0; lic < 15; lic++) {
+            evaluations += snapshot.evaluations(lic);
+        }
+        assertEquals(runs, decisions);
+        assertEquals(evaluations, evaluated);
+
+        BatchAntiMissileSystem batch = new BatchAntiMissileSystem(parameters, lcm, puv);
+        batch.metrics = new DecisionMetrics();
+        int[] numPoints = {10, 20, 30};
+        double[][] xs = new double[3][];
+        double[][] ys = new double[3][];
+        for (int track = 0; track < 3; track++) {
+            xs[track] = RandomTracks.coordinates(random, numPoints[track]);
+            ys[track] = RandomTracks.coordinates(random, numPoints[track]);
+        }
+        batch.decide(numPoints, xs, ys, new BitSet(), new short[3]);
+        assertEquals(3, batch.metrics.snapshot().evaluations(0));
+    }
+
+    @Test
+    void testHistogram() {
+        // Contract: percentiles are within the precision of the buckets, and every value maps
+        // to a bucket whose range contains it.
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100000, snapshot.count);
+        assertEquals(100000, snapshot.max);
+        assertEquals(50000.5, snapshot.mean());
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9, 100}) {
+            double exact = percentile * 1000;
+            long reported = snapshot.percentile(percentile);
+            assertTrue(reported >= exact && reported <= exact * (1 + 2.0 / LatencyHistogram.SUB_BUCKETS),
+                    percentile + ": " + reported);
+        }
+
+        Random random = new Random(14);
+        for (int i = 0; i < 10000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(bucket < LatencyHistogram.BUCKETS);
+            assertTrue(value <= LatencyHistogram.highestValue(bucket), Long.toString(value));
+            assertTrue(bucket == 0 || value > LatencyHistogram.highestValue(bucket - 1), Long.toString(value));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DecisionPlanTest {
+
+    @Test
+    void testRequiredLics() {
+        // Contract: a LIC is required iff it appears in a used cell of an unlocked row, or is
+        // the LIC of an unlocked row that has a used cell.
+        Connector[][] lcm = new Connector[15][15];
+        for (Connector[] row : lcm) {
+            Arrays.fill(row, Connector.NOTUSED);
+        }
+        boolean[] puv = new boolean[15];
+        assertEquals(0, DecisionPlan.compile(lcm, puv).requiredLics());
+
+        // Row 2 is unlocked but only NOTUSED
+        puv[2] = true;
+        assertEquals(0, DecisionPlan.compile(lcm, puv).requiredLics());
+
+        // Row 3 uses LIC 7 but is not unlocked
+        lcm[3][7] = Connector.ANDD;
+        assertEquals(0, DecisionPlan.compile(lcm, puv).requiredLics());
+
+        puv[3] = true;
+        assertEquals((1 << 3) | (1 << 7), DecisionPlan.compile(lcm, puv).requiredLics());
+
+        lcm[2][10] = Connector.ORR;
+        assertEquals((1 << 2) | (1 << 3) | (1 << 7) | (1 << 10), DecisionPlan.compile(lcm, puv).requiredLics());
+    }
+
+    @Test
+    void testMatchesAntiMissileSystem() {
+        // Contract: the plan decides the same as the full pipeline of AntiMissileSystem.
+        Random random = new Random(17);
+        for (int run = 0; run < 500; run++) {
+            Parameters parameters = RandomTracks.parameters(random);
+            Connector[][] lcm = RandomTracks.lcm(random);
+            boolean[] puv = RandomTracks.puv(random);
+            for (int i = 0; i < 15; i++) {
+                // Make dead LICs common
+                if (random.nextBoolean()) {
+                    for (int j = 0; j < 15; j++) {
+                        lcm[i][j] = Connector.NOTUSED;
+                        lcm[j][i] = Connector.NOTUSED;
+                    }
+                }
+            }
+            int numPoints = 2 + random.nextInt(30);
+            double[] xs = RandomTracks.coordinates(random, numPoints);
+            double[] ys = RandomTracks.coordinates(random, numPoints);
+
+            AntiMissileSystem antiMissileSystem = new AntiMissileSystem(numPoints, xs, ys, parameters, lcm, puv);
+            antiMissileSystem.populateCMV();
+            antiMissileSystem.populatePUM();
+            antiMissileSystem.generateFUV();
+
+            assertEquals(antiMissileSystem.decide(), DecisionPlan.compile(lcm, puv).decide(antiMissileSystem));
+        }
+    }
+
+    @Test
+    void testSkipsDeadLics() {
+        // Contract: LICs that are not required are not evaluated.
+        Connector[][] lcm = new Connector[15][15];
+        for (Connector[] row : lcm) {
+            Arrays.fill(row, Connector.NOTUSED);
+        }
+        lcm[0][0] = Connector.ANDD;
+        boolean[] puv = new boolean[15];
+        puv[0] = true;
+
+        // N_PTS = 0 makes lic6() fail, so the plan must not call it
+        Parameters parameters = new Parameters();
+        parameters.length1 = 1;
+        parameters.nPTS = 0;
+        Point[] points = {new Point(0.0, 0.0), new Point(0.0, 0.5), new Point(0.0, 2.0)};
+        AntiMissileSystem antiMissileSystem = new AntiMissileSystem(3, points, parameters, lcm, puv);
+
+        DecisionPlan plan = DecisionPlan.compile(lcm, puv);
+        assertEquals(1, plan.evaluate(antiMissileSystem));
+        assertTrue(plan.decide(antiMissileSystem));
+
+        antiMissileSystem.parameters.length1 = 2;
+        antiMissileSystem.recompile();
+        assertFalse(plan.decide(antiMissileSystem));
+    }
+}
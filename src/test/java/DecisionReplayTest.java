@@ -0,0 +1,99 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DecisionReplayTest {
+
+    @Test
+    void testReplay() throws IOException {
+        // Contract: every track is decided with the configuration registered for its id, like a
+        // fresh AntiMissileSystem, sequentially and in parallel, and exactly the tracks whose
+        // decision differs from the recorded one are reported, in the order of the file.
+        Random random = new Random(7);
+        int configs = 4;
+        Parameters[] parameters = new Parameters[configs];
+        Connector[][][] lcms = new Connector[configs][][];
+        boolean[][] puvs = new boolean[configs][];
+        for (int id = 0; id < configs; id++) {
+            parameters[id] = RandomTracks.parameters(random);
+            lcms[id] = RandomTracks.lcm(random);
+            puvs[id] = RandomTracks.puv(random);
+        }
+
+        int tracks = 1000;
+        BitSet expected = new BitSet();
+        BitSet recorded = new BitSet();
+        Path path = Files.createTempFile("replay", ".bin");
+        path.toFile().deleteOnExit();
+        try (TrackWriter writer = TrackWriter.create(path)) {
+            for (int track = 0; track < tracks; track++) {
+                int id = random.nextInt(configs);
+                int numPoints = 2 + random.nextInt(40);
+                double[] xs = RandomTracks.coordinates(random, numPoints);
+                double[] ys = RandomTracks.coordinates(random, numPoints);
+                writer.write(id, numPoints, xs, ys);
+
+                AntiMissileSystem system = new AntiMissileSystem(numPoints, xs, ys, parameters[id], lcms[id], puvs[id]);
+                system.populateCMV();
+                system.populatePUM();
+                system.generateFUV();
+                expected.set(track, system.decide());
+                recorded.set(track, random.nextInt(10) == 0 ? !system.decide() : system.decide());
+            }
+        }
+        BitSet changed = (BitSet) expected.clone();
+        changed.xor(recorded);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (ForkJoinPool replayPool : new ForkJoinPool[]{null, pool}) {
+                DecisionReplay replay = new DecisionReplay(replayPool, new ConfigurationCache(8));
+                replay.tracksPerTask = 64;
+                for (int id = 0; id < configs; id++) {
+                    replay.register(id, parameters[id], lcms[id], puvs[id]);
+                }
+                ReplayReport report = replay.replay(path, recorded);
+
+                assertEquals(tracks, report.tracks);
+                assertEquals(expected, report.decisions);
+                assertEquals(changed.cardinality(), report.changes);
+                assertArrayEquals(changed.stream().toArray(), report.changedTracks);
+                for (int i = 0; i < report.changes; i++) {
+                    assertEquals(expected.get(report.changedTracks[i]), report.changedDecisions[i]);
+                }
+                assertEquals(report.changes, report.launchesAdded() + report.launchesWithdrawn());
+
+                StringBuilder text = new StringBuilder();
+                report.write(text);
+                assertTrue(text.toString().startsWith(tracks + " tracks, " + report.changes + " changed"), text.toString());
+                assertEquals(report.changes + 1, text.toString().split("\n").length);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testRejectsUnregisteredConfiguration() throws IOException {
+        // Contract: a track of a configuration id that is not registered is an IOException.
+        Path path = Files.createTempFile("replay", ".bin");
+        path.toFile().deleteOnExit();
+        try (TrackWriter writer = TrackWriter.create(path)) {
+            writer.write(3, 2, new double[]{0, 1}, new double[]{0, 1});
+        }
+        Random random = new Random(8);
+        DecisionReplay replay = new DecisionReplay(null, null);
+        replay.register(0, RandomTracks.parameters(random), RandomTracks.lcm(random), RandomTracks.puv(random));
+        assertThrows(IOException.class, () -> replay.replay(path, new BitSet()));
+    }
+}
@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeometryTest {
+
+    @Test
+    void testMatchesSquareRootFormulation() {
+        // Contract: away from the threshold the squared comparisons agree with comparing
+        // distances and areas computed with square roots.
+        Random random = new Random(7);
+        for (int run = 0; run < 10000; run++) {
+            double ax = random.nextDouble() * 20 - 10, ay = random.nextDouble() * 20 - 10;
+            double bx = random.nextDouble() * 20 - 10, by = random.nextDouble() * 20 - 10;
+            double cx = random.nextDouble() * 20 - 10, cy = random.nextDouble() * 20 - 10;
+            double threshold = random.nextDouble() * 20 - 2;
+
+            double ab = Math.sqrt(Math.pow(bx - ax, 2) + Math.pow(by - ay, 2));
+            double ac = Math.sqrt(Math.pow(cx - ax, 2) + Math.pow(cy - ay, 2));
+            double bc = Math.sqrt(Math.pow(cx - bx, 2) + Math.pow(cy - by, 2));
+            double s = (ab + ac + bc) / 2;
+            double area = Math.sqrt(s * (s - ab) * (s - ac) * (s - bc));
+            double squared = Geometry.signedSquare(threshold);
+
+            if (Math.abs(ab - threshold) > 1e-9) {
+                assertEquals(ab > threshold, Geometry.distanceSquared(ax, ay, bx, by) > squared);
+            }
+            if (Math.abs(area - threshold) > 1e-6) {
+                assertEquals(area > threshold, Geometry.doubledArea(ax, ay, bx, by, cx, cy) > 2 * threshold);
+            }
+        }
+    }
+
+    @Test
+    void testInCircleMatchesBruteForce() {
+        // Contract: inCircle() is true iff the radius is at least that of the smallest circle
+        // enclosing the triple, found by trying every circle over two of the points and the
+        // circumcircle.
+        Random random = new Random(11);
+        for (int run = 0; run < 100000; run++) {
+            double[] x = new double[3];
+            double[] y = new double[3];
+            for (int i = 0; i < 3; i++) {
+                // Small integer coordinates give coincident, collinear and right triangles
+                boolean grid = run % 2 == 0;
+                x[i] = grid ? random.nextInt(5) - 2 : random.nextDouble() * 20 - 10;
+                y[i] = grid ? random.nextInt(5) - 2 : random.nextDouble() * 20 - 10;
+            }
+            double enclosing = smallestEnclosingRadius(x, y);
+            double radius = random.nextBoolean() ? enclosing : random.nextDouble() * 8;
+            boolean inCircle = Geometry.inCircle(x[0], y[0], x[1], y[1], x[2], y[2], Geometry.signedSquare(radius));
+
+            if (Math.abs(radius - enclosing) > 1e-9 * (1 + enclosing)) {
+                assertEquals(radius > enclosing, inCircle);
+            } else if (run % 2 == 0) {
+                // At the threshold the enclosing radius itself is accepted, up to rounding
+                assertTrue(Geometry.inCircle(x[0], y[0], x[1], y[1], x[2], y[2], Geometry.signedSquare(enclosing) * (1 + 1e-12)));
+            }
+        }
+    }
+
+    private static double smallestEnclosingRadius(double[] x, double[] y) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < 3; i++) {
+            int j = (i + 1) % 3;
+            double centerX = (x[i] + x[j]) / 2;
+            double centerY = (y[i] + y[j]) / 2;
+            best = Math.min(best, enclosingRadius(x, y, centerX, centerY, Math.hypot(x[i] - x[j], y[i] - y[j]) / 2));
+        }
+        double d = 2 * (x[0] * (y[1] - y[2]) + x[1] * (y[2] - y[0]) + x[2] * (y[0] - y[1]));
+        if (d != 0) {
+            double s0 = x[0] * x[0] + y[0] * y[0];
+            double s1 = x[1] * x[1] + y[1] * y[1];
+            double s2 = x[2] * x[2] + y[2] * y[2];
+            double centerX = (s0 * (y[1] - y[2]) + s1 * (y[2] - y[0]) + s2 * (y[0] - y[1])) / d;
+            double centerY = (s0 * (x[2] - x[1]) + s1 * (x[0] - x[2]) + s2 * (x[1] - x[0])) / d;
+            best = Math.min(best, enclosingRadius(x, y, centerX, centerY, Math.hypot(x[0] - centerX, y[0] - centerY)));
+        }
+        return best;
+    }
+
+    private static double enclosingRadius(double[] x, double[] y, double centerX, double centerY, double radius) {
+        for (int i = 0; i < 3; i++) {
+            if (Math.hypot(x[i] - centerX, y[i] - centerY) > radius * (1 + 1e-12) + 1e-12) {
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+        return radius;
+    }
+
+    @Test
+    void testAngleLessMatchesAcos() {
+        // Contract: away from the limit angleLess() agrees with comparing the angle computed
+        // with acos, and it is false when a point coincides with the vertex.
+        Random random = new Random(9);
+        for (int run = 0; run < 100000; run++) {
+            double ax = random.nextDouble() * 20 - 10, ay = random.nextDouble() * 20 - 10;
+            double bx = random.nextDouble() * 20 - 10, by = random.nextDouble() * 20 - 10;
+            double cx = random.nextDouble() * 20 - 10, cy = random.nextDouble() * 20 - 10;
+            double limit = random.nextDouble() * 4 - 0.4;
+
+            double angle = Math.acos(((ax - bx) * (cx - bx) + (ay - by) * (cy - by))
+                    / (Math.hypot(ax - bx, ay - by) * Math.hypot(cx - bx, cy - by)));
+            if (Math.abs(angle - limit) > 1e-9) {
+                assertEquals(angle < limit, Geometry.angleLess(ax, ay, bx, by, cx, cy, Geometry.cosAngle(limit)));
+            }
+        }
+        assertFalse(Geometry.angleLess(1, 1, 1, 1, 3, 0, Geometry.cosAngle(4)));
+        // A straight angle is not less than PI, a folded one is less than a small limit
+        assertFalse(Geometry.angleLess(-1, 0, 0, 0, 1, 0, Geometry.cosAngle(Math.PI)));
+        assertTrue(Geometry.angleLess(1, 0, 0, 0, 2, 0, Geometry.cosAngle(0.01)));
+    }
+
+    @Test
+    void testDegenerateTriangles() {
+        // Contract: collinear triples have zero area and, like obtuse triangles, are contained
+        // in the circle over their longest side.
+        assertEquals(0.0, Geometry.doubledArea(0, 0, 1, 1, 3, 3));
+        assertTrue(Geometry.inCircle(1, 1, 1, 1, 1, 1, 0));
+        assertTrue(Geometry.inCircle(0, 0, 1, 0, 2, 0, 1));
+        assertFalse(Geometry.inCircle(0, 0, 1, 0, 3, 0, 1));
+        assertTrue(Geometry.inCircle(0, 0, 0, 0, 3, 4, 6.25));
+        // The circumradius of this obtuse triangle is 50.05, the enclosing circle has radius 5
+        assertTrue(Geometry.inCircle(-5, 0, 5, 0, 0, 0.1, 25));
+    }
+}
@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IncrementalDecisionTest {
+
+    @Test
+    void testMatchesFullRecomputation() {
+        // Contract: after every update, pum, fuv, decide() and the number of false FUV entries
+        // are the same as those of populatePUM() and generateFUV() on the current CMV, also when
+        // unchanged LICs are reported and the LCM is not symmetric.
+        Random random = new Random(25);
+        for (int run = 0; run < 200; run++) {
+            Connector[][] lcm = RandomTracks.lcm(random);
+            if (run % 2 == 1) {
+                for (int i = 0; i < 15; i++) {
+                    for (int j = 0; j < 15; j++) {
+                        lcm[i][j] = Connector.values()[random.nextInt(3)];
+                    }
+                }
+            }
+            boolean[] puv = RandomTracks.puv(random);
+            boolean[] cmv = new boolean[15];
+            boolean[][] pum = new boolean[15][15];
+            boolean[] fuv = new boolean[15];
+            IncrementalDecision decision = new IncrementalDecision(lcm, puv, cmv, pum, fuv);
+
+            AntiMissileSystem reference = new AntiMissileSystem(0, new double[0], new double[0], new Parameters(),
+                    lcm, puv);
+            for (int step = 0; step < 50; step++) {
+                int reported = random.nextInt(1 << 15) & random.nextInt(1 << 15) & random.nextInt(1 << 15);
+                for (int i = 0; i < 15; i++) {
+                    if ((reported & (1 << i)) != 0 && random.nextBoolean()) {
+                        cmv[i] = !cmv[i];
+                    }
+                }
+                decision.update((short) reported);
+
+                System.arraycopy(cmv, 0, reference.cmv, 0, 15);
+                reference.populatePUM();
+                reference.generateFUV();
+                int falseEntries = 0;
+                for (int i = 0; i < 15; i++) {
+                    assertArrayEquals(reference.pum[i], pum[i]);
+                    falseEntries += fuv[i] ? 0 : 1;
+                }
+                assertArrayEquals(reference.fuv, fuv);
+                assertEquals(falseEntries, decision.falseEntries());
+                assertEquals(reference.decide(), decision.decide());
+            }
+        }
+    }
+
+    @Test
+    void testRecompute() {
+        // Contract: recompute() catches up with CMV changes that were not reported.
+        Random random = new Random(26);
+        Connector[][] lcm = RandomTracks.lcm(random);
+        boolean[] puv = RandomTracks.puv(random);
+        boolean[] cmv = new boolean[15];
+        boolean[][] pum = new boolean[15][15];
+        boolean[] fuv = new boolean[15];
+        IncrementalDecision decision = new IncrementalDecision(lcm, puv, cmv, pum, fuv);
+        for (int i = 0; i < 15; i++) {
+            cmv[i] = random.nextBoolean();
+        }
+        decision.recompute();
+
+        AntiMissileSystem reference = new AntiMissileSystem(0, new double[0], new double[0], new Parameters(),
+                lcm, puv);
+        System.arraycopy(cmv, 0, reference.cmv, 0, 15);
+        reference.populatePUM();
+        reference.generateFUV();
+        assertArrayEquals(reference.fuv, fuv);
+        assertEquals(reference.decide(), decision.decide());
+    }
+}
@@ -0,0 +1,194 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static java.lang.Math.PI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LazyDecisionTest {
+
+    @Test
+    void testFixtures() {
+        // Contract: for the tracks and parameters of AntiMissileSystemTest, decideLazily() gives
+        // the same answer as populateCMV(), populatePUM(), generateFUV() and decide() for any LCM
+        // and PUV.
+        Random random = new Random(23);
+        for (AntiMissileSystem fixture : fixtures()) {
+            for (int run = 0; run < 300; run++) {
+                assertEquivalent(fixture, RandomTracks.lcm(random), RandomTracks.puv(random));
+            }
+            Connector[][] lcm = new Connector[15][15];
+            boolean[] puv = new boolean[15];
+            for (Connector connector : Connector.values()) {
+                for (Connector[] row : lcm) {
+                    Arrays.fill(row, connector);
+                }
+                Arrays.fill(puv, true);
+                assertEquivalent(fixture, lcm, puv);
+                Arrays.fill(puv, false);
+                assertEquivalent(fixture, lcm, puv);
+            }
+        }
+    }
+
+    @Test
+    void testRandomTracks() {
+        // Contract: decideLazily() gives the same answer as the eager pipeline, whatever the
+        // order the LICs are evaluated in.
+        Random random = new Random(29);
+        for (int run = 0; run < 1000; run++) {
+            int numPoints = 2 + random.nextInt(30);
+            AntiMissileSystem system = new AntiMissileSystem(numPoints,
+                    RandomTracks.coordinates(random, numPoints), RandomTracks.coordinates(random, numPoints),
+                    RandomTracks.parameters(random), RandomTracks.lcm(random), RandomTracks.puv(random));
+            assertEquivalent(system, system.lcm, system.puv);
+
+            List<Integer> order = new ArrayList<Integer>();
+            for (int lic = 0; lic < 15; lic++) {
+                order.add(lic);
+            }
+            Collections.shuffle(order, random);
+            int[] shuffled = new int[15];
+            for (int i = 0; i < 15; i++) {
+                shuffled[i] = order.get(i);
+            }
+            assertEquals(eagerDecide(system), DecisionPlan.compile(system.lcm, system.puv).decideLazily(system, shuffled));
+        }
+    }
+
+    private static void assertEquivalent(AntiMissileSystem fixture, Connector[][] lcm, boolean[] puv) {
+        AntiMissileSystem system = new AntiMissileSystem(fixture.numPoints, fixture.xs, fixture.ys,
+                fixture.parameters, lcm, puv);
+        assertEquals(eagerDecide(system), system.decideLazily());
+    }
+
+    private static boolean eagerDecide(AntiMissileSystem fixture) {
+        AntiMissileSystem system = new AntiMissileSystem(fixture.numPoints, fixture.xs, fixture.ys,
+                fixture.parameters, fixture.lcm, fixture.puv);
+        system.populateCMV();
+        system.populatePUM();
+        system.generateFUV();
+        return system.decide();
+    }
+
+    /**
+     *
+     * @return the tracks of AntiMissileSystemTest with the parameters each test ends with,
+     * N_PTS set to 3 where the test leaves it at 0
+     */
+    private static List<AntiMissileSystem> fixtures() {
+        List<AntiMissileSystem> fixtures = new ArrayList<AntiMissileSystem>();
+
+        Parameters parameters = new Parameters();
+        parameters.radius1 = 1;
+        parameters.radius2 = 10;
+        parameters.qUads = 1;
+        parameters.aPTS = 1;
+        parameters.bPTS = 1;
+        parameters.cPTS = 1;
+        parameters.dPTS = 1;
+        parameters.ePTS = 1;
+        parameters.fPTS = 1;
+        parameters.gPTS = 1;
+        parameters.kPTS = 1;
+        parameters.nPTS = 5;
+        parameters.dist = 1.5;
+        parameters.area2 = 4;
+        add(fixtures, parameters, 0.0, 0.0, 1.0, 0.0, 2.0, 0.0, 3.0, 0.0, 3.0, 3.0);
+
+        parameters = defaults();
+        parameters.length1 = 10;
+        add(fixtures, parameters, 0.0, 0.0, 1.0, 1.0, 3.0, 5.0, 10.0, 10.0, 20.0, 20.0);
+
+        parameters = defaults();
+        parameters.radius1 = 1.5;
+        add(fixtures, parameters, -2.0, 0.0, 0.0, 2.0, 2.0, 0.0);
+
+        parameters = defaults();
+        parameters.epsilon = PI * 0.499;
+        add(fixtures, parameters, -1.0, -1.0, 0.0, 0.0, 1.0, 0.0, 1.0, -1.0);
+
+        parameters = defaults();
+        parameters.area1 = 1.0;
+        add(fixtures, parameters, 1.0, 1.0, 1.0, 0.0, 0.0, 0.0, -3.0, 3.0, -3.0, 0.0);
+
+        parameters = defaults();
+        parameters.qPts = 3;
+        parameters.qUads = 2;
+        add(fixtures, parameters, 1.0, 1.0, 1.0, -1.0, -1.0, 1.0, -1.0, -1.0);
+
+        parameters = defaults();
+        add(fixtures, parameters, 1.0, 0.0, 0.0, 0.0);
+
+        parameters = defaults();
+        parameters.dist = 1;
+        add(fixtures, parameters, 0.0, 0.0, 2.0, 2.0, 0.0, 0.0);
+
+        parameters = defaults();
+        parameters.kPTS = 1;
+        parameters.length1 = 2.0;
+        add(fixtures, parameters, 0.0, 0.0, 3.0, 0.0, 5.0, 0.0);
+
+        parameters = defaults();
+        parameters.aPTS = 2;
+        parameters.bPTS = 1;
+        parameters.radius1 = 0.5;
+        add(fixtures, parameters, -1.0, 0.0, 1.5, 0.5, 1.5, -0.5, 0.0, 1.0, -1.5, 0.5, 1.0, 0.0);
+
+        parameters = defaults();
+        parameters.cPTS = 1;
+        parameters.dPTS = 1;
+        parameters.epsilon = PI * 0.499;
+        add(fixtures, parameters, -1.0, -1.0, 24.534, 232.4, 0.0, 0.0, 1.0, 0.0, 1.0, -1.0);
+
+        parameters = defaults();
+        parameters.ePTS = 1;
+        parameters.fPTS = 1;
+        add(fixtures, parameters, 0.0, 0.0, 1.0, 1.0, 1.0, 0.0, -1.0, -1.0, 1.0, 2.0);
+
+        parameters = defaults();
+        parameters.gPTS = 1;
+        add(fixtures, parameters, 0.0, 0.0, 1.0, 1.0, -1.0, 323434.4);
+
+        parameters = defaults();
+        parameters.kPTS = 1;
+        parameters.length1 = 2.0;
+        parameters.length2 = 5.0;
+        add(fixtures, parameters, 0.0, 0.0, 5.0, 0.0, 3.0, 0.0);
+
+        parameters = defaults();
+        parameters.radius1 = 1;
+        parameters.radius2 = 10;
+        add(fixtures, parameters, 0.0, 0.0, 1.0, 0.0, 2.0, 0.0, 3.0, 0.0, 3.0, 3.0);
+
+        parameters = defaults();
+        parameters.ePTS = 1;
+        parameters.fPTS = 1;
+        parameters.area1 = 0.5;
+        parameters.area2 = 3;
+        add(fixtures, parameters, 0.0, 0.0, 1.0, 1.0, 1.0, 0.0, -1.0, -1.0, 1.0, 2.0, -2.0, 0.0, 1.0, -1.0, 0.0, 2.0);
+
+        return fixtures;
+    }
+
+    private static Parameters defaults() {
+        Parameters parameters = new Parameters();
+        parameters.nPTS = 3;
+        return parameters;
+    }
+
+    private static void add(List<AntiMissileSystem> fixtures, Parameters parameters, double... coordinates) {
+        int numPoints = coordinates.length / 2;
+        double[] xs = new double[numPoints];
+        double[] ys = new double[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            xs[i] = coordinates[2 * i];
+            ys[i] = coordinates[2 * i + 1];
+        }
+        fixtures.add(new AntiMissileSystem(numPoints, xs, ys, parameters, null, null));
+    }
+}
@@ -0,0 +1,123 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LicWitnessesTest {
+
+    @Test
+    void testWitnessesExplainOutcomes() {
+        // Contract: with witnesses set the CMV is unchanged, every LIC that is met has one
+        // witness, LICs 12, 13 and 14 two, and the measured value of every witness is on the
+        // side of its threshold that met the condition.
+        // Every LIC is also checked with the LIC 6 hulls and with the scans.
+        Random random = new Random(24);
+        for (int run = 0; run < 500; run++) {
+            int numPoints = 2 + random.nextInt(30);
+            double[] xs = RandomTracks.coordinates(random, numPoints);
+            double[] ys = RandomTracks.coordinates(random, numPoints);
+            Parameters parameters = RandomTracks.parameters(random);
+            Connector[][] lcm = RandomTracks.lcm(random);
+            boolean[] puv = RandomTracks.puv(random);
+
+            AntiMissileSystem plain = new AntiMissileSystem(numPoints, xs, ys, parameters, lcm, puv);
+            plain.populateCMV();
+            AntiMissileSystem explained = new AntiMissileSystem(numPoints, xs, ys, parameters, lcm, puv);
+            explained.witnesses = new LicWitnesses();
+            explained.lic6HullThreshold = run % 2 == 0 ? 3 : Integer.MAX_VALUE;
+            explained.populateCMV();
+
+            LicWitnesses witnesses = explained.witnesses;
+            for (int lic = 0; lic < 15; lic++) {
+                assertEquals(plain.cmv[lic], explained.cmv[lic]);
+                int expected = !plain.cmv[lic] ? 0 : lic >= 12 ? 2 : 1;
+                assertEquals(expected, witnesses.count(lic));
+                for (int witness = 0; witness < witnesses.count(lic); witness++) {
+                    int previous = -1;
+                    for (int point = 0; point < witnesses.size(lic, witness); point++) {
+                        int index = witnesses.point(lic, witness, point);
+                        assertTrue(index >= 0 && index < numPoints);
+                        if (lic != 6 || point < 2) {
+                            assertTrue(index > previous);
+                        }
+                        previous = index;
+                    }
+                    double measured = witnesses.measured(lic, witness);
+                    double threshold = witnesses.threshold(lic, witness);
+                    boolean less = lic == 2 || lic == 5 || lic == 9 || lic == 11 || witness == 1;
+                    assertTrue(less ? measured <= threshold + 1e-9 : measured >= threshold - 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWitnessValues() {
+        // Contract: a witness holds the indices of the points that met the LIC, the measured
+        // value in the units of the parameter and the parameter itself.
+        double[] xs = {0, 3, 3, 3, 6};
+        double[] ys = {0, 4, 4, 5, 5};
+        Parameters parameters = new Parameters();
+        parameters.length1 = 4;
+        parameters.length2 = 2;
+        parameters.kPTS = 1;
+        AntiMissileSystem system = new AntiMissileSystem(5, xs, ys, parameters, new Connector[15][15],
+                new boolean[15]);
+        system.witnesses = new LicWitnesses();
+
+        assertTrue(system.lic(0));
+        assertEquals(1, system.witnesses.count(0));
+        assertEquals(2, system.witnesses.size(0, 0));
+        assertEquals(0, system.witnesses.point(0, 0, 0));
+        assertEquals(1, system.witnesses.point(0, 0, 1));
+        assertEquals(5, system.witnesses.measured(0, 0));
+        assertEquals(4, system.witnesses.threshold(0, 0));
+
+        // Pairs separated by one point: 0-2 is 5 apart, 1-3 is 1 apart, 2-4 is 3.16 apart
+        assertTrue(system.lic(12));
+        assertEquals(2, system.witnesses.count(12));
+        assertEquals(0, system.witnesses.point(12, 0, 0));
+        assertEquals(2, system.witnesses.point(12, 0, 1));
+        assertEquals(5, system.witnesses.measured(12, 0));
+        assertEquals(4, system.witnesses.threshold(12, 0));
+        assertEquals(1, system.witnesses.point(12, 1, 0));
+        assertEquals(3, system.witnesses.point(12, 1, 1));
+        assertEquals(1, system.witnesses.measured(12, 1));
+        assertEquals(2, system.witnesses.threshold(12, 1));
+
+        parameters.length2 = 0.5;
+        system.recompile();
+        assertFalse(system.lic(12));
+        assertEquals(0, system.witnesses.count(12));
+    }
+
+    @Test
+    void testLazyDecisionsUnchanged() {
+        // Contract: witnesses do not change lazy or parallel decisions.
+        Random random = new Random(25);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int run = 0; run < 200; run++) {
+                int numPoints = 2 + random.nextInt(30);
+                AntiMissileSystem system = new AntiMissileSystem(numPoints, RandomTracks.coordinates(random, numPoints),
+                        RandomTracks.coordinates(random, numPoints), RandomTracks.parameters(random),
+                        RandomTracks.lcm(random), RandomTracks.puv(random));
+                boolean lazy = system.decideLazily();
+                boolean eager = system.decideEagerly();
+                system.witnesses = new LicWitnesses();
+                system.parallelThreshold = 0;
+                assertEquals(lazy, system.decideLazily());
+                system.populateCMV(pool);
+                system.populatePUM();
+                system.generateFUV();
+                assertEquals(eager, system.decide());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PackedDecisionTest {
+
+    @Test
+    void testMatchesAntiMissileSystem() {
+        // Contract: fuv() and decide() give the same FUV and decision as populatePUM(),
+        // generateFUV() and decide() of AntiMissileSystem, also for an asymmetric LCM.
+        Random random = new Random(5);
+        for (int run = 0; run < 2000; run++) {
+            Connector[][] lcm = RandomTracks.lcm(random);
+            if (run % 2 == 1) {
+                lcm[random.nextInt(15)][random.nextInt(15)] = Connector.values()[random.nextInt(3)];
+            }
+            boolean[] puv = RandomTracks.puv(random);
+            boolean[] cmv = new boolean[15];
+            for (int i = 0; i < 15; i++) {
+                cmv[i] = random.nextInt(4) != 0;
+            }
+
+            AntiMissileSystem antiMissileSystem = new AntiMissileSystem(0, null, null, lcm, puv);
+            antiMissileSystem.cmv = cmv;
+            antiMissileSystem.populatePUM();
+            antiMissileSystem.generateFUV();
+
+            PackedDecision packedDecision = new PackedDecision(lcm, puv);
+            short fuv = packedDecision.fuv(PackedDecision.pack(cmv));
+            boolean[] unpacked = new boolean[15];
+            PackedDecision.unpack(fuv, unpacked);
+
+            assertArrayEquals(antiMissileSystem.fuv, unpacked);
+            assertEquals(antiMissileSystem.decide(), packedDecision.decide(PackedDecision.pack(cmv)));
+            assertEquals(antiMissileSystem.decide(), fuv == PackedDecision.ALL);
+        }
+    }
+}
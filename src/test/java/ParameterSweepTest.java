@@ -0,0 +1,62 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParameterSweepTest {
+
+    @Test
+    void testSweepMatchesAntiMissileSystem() {
+        // Contract: the CMV of every variant is the one AntiMissileSystem computes, also for
+        // thresholds that equal a measure of the track exactly and for strides and
+        // thresholds outside of the specification.
+        Random random = new Random(9);
+        for (int track = 0; track < 40; track++) {
+            int numPoints = 2 + random.nextInt(track % 4 == 0 ? 200 : 30);
+            double[] xs = RandomTracks.coordinates(random, numPoints);
+            double[] ys = RandomTracks.coordinates(random, numPoints);
+            if (track % 2 == 0) {
+                for (int i = 0; i < numPoints; i++) {
+                    xs[i] += random.nextGaussian() * 0.1;
+                }
+            }
+            ParameterSweep sweep = new ParameterSweep(numPoints, xs, ys);
+            for (int variant = 0; variant < 100; variant++) {
+                Parameters parameters = RandomTracks.parameters(random);
+                if (variant % 10 == 0) {
+                    parameters.kPTS = random.nextInt(2);
+                    parameters.aPTS = random.nextInt(2);
+                    parameters.nPTS = 1 + random.nextInt(5);
+                    parameters.epsilon = random.nextInt(3) * 2;
+                    parameters.dist = -random.nextInt(2);
+                }
+                AntiMissileSystem system = new AntiMissileSystem(numPoints, xs, ys, parameters,
+                        RandomTracks.lcm(random), RandomTracks.puv(random));
+                system.populateCMV();
+                assertEquals(Integer.toBinaryString(PackedDecision.pack(system.cmv)),
+                        Integer.toBinaryString(sweep.evaluate(parameters)), "track " + track + " variant " + variant);
+            }
+        }
+    }
+
+    @Test
+    void testDecide() {
+        // Contract: decide() is the decision of the LCM and PUV on the swept CMV.
+        Random random = new Random(10);
+        int numPoints = 50;
+        double[] xs = RandomTracks.coordinates(random, numPoints);
+        double[] ys = RandomTracks.coordinates(random, numPoints);
+        ParameterSweep sweep = new ParameterSweep(numPoints, xs, ys);
+        for (int variant = 0; variant < 200; variant++) {
+            Parameters parameters = RandomTracks.parameters(random);
+            Connector[][] lcm = RandomTracks.lcm(random);
+            boolean[] puv = RandomTracks.puv(random);
+            AntiMissileSystem system = new AntiMissileSystem(numPoints, xs, ys, parameters, lcm, puv);
+            system.populateCMV();
+            system.populatePUM();
+            system.generateFUV();
+            assertEquals(system.decide(), sweep.decide(parameters, new PackedDecision(lcm, puv)));
+        }
+    }
+}
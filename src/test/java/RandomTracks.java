@@ -0,0 +1,59 @@
+import java.util.Random;
+
+/**
+ * Random parameters, LCMs, PUVs and tracks for the equivalence tests. Coordinates are small
+ * integers so that coincident and collinear points are common.
+ */
+class RandomTracks {
+
+    static Parameters parameters(Random random) {
+        Parameters parameters = new Parameters();
+        parameters.length1 = random.nextInt(5);
+        parameters.radius1 = random.nextInt(4) - 0.5;
+        parameters.epsilon = random.nextDouble() * Math.PI;
+        parameters.area1 = random.nextInt(6) * 0.5;
+        parameters.qPts = 2 + random.nextInt(6);
+        parameters.qUads = 1 + random.nextInt(3);
+        parameters.dist = random.nextInt(4);
+        parameters.nPTS = 3 + random.nextInt(6);
+        parameters.kPTS = 1 + random.nextInt(4);
+        parameters.aPTS = random.nextInt(4);
+        parameters.bPTS = random.nextInt(4);
+        parameters.cPTS = 1 + random.nextInt(3);
+        parameters.dPTS = 1 + random.nextInt(3);
+        parameters.ePTS = 1 + random.nextInt(3);
+        parameters.fPTS = 1 + random.nextInt(3);
+        parameters.gPTS = 1 + random.nextInt(4);
+        parameters.length2 = random.nextInt(8);
+        parameters.radius2 = random.nextInt(6);
+        parameters.area2 = random.nextInt(10) * 0.5;
+        return parameters;
+    }
+
+    static Connector[][] lcm(Random random) {
+        Connector[][] lcm = new Connector[15][15];
+        for (int i = 0; i < 15; i++) {
+            for (int j = 0; j <= i; j++) {
+                lcm[i][j] = Connector.values()[random.nextInt(3)];
+                lcm[j][i] = lcm[i][j];
+            }
+        }
+        return lcm;
+    }
+
+    static boolean[] puv(Random random) {
+        boolean[] puv = new boolean[15];
+        for (int i = 0; i < 15; i++) {
+            puv[i] = random.nextInt(3) == 0;
+        }
+        return puv;
+    }
+
+    static double[] coordinates(Random random, int numPoints) {
+        double[] coordinates = new double[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            coordinates[i] = random.nextInt(7) - 3;
+        }
+        return coordinates;
+    }
+}
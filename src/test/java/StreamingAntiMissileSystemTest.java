@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamingAntiMissileSystemTest {
+
+    @Test
+    void testMatchesAntiMissileSystem() {
+        // Contract: after every added point, cmv, fuv and decide() are the same as those of an
+        // AntiMissileSystem constructed with all points received so far.
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            Parameters parameters = RandomTracks.parameters(random);
+            Connector[][] lcm = RandomTracks.lcm(random);
+            boolean[] puv = RandomTracks.puv(random);
+
+            StreamingAntiMissileSystem stream = new StreamingAntiMissileSystem(parameters, lcm, puv);
+            int numPoints = 2 + random.nextInt(40);
+            Point[] points = new Point[numPoints];
+            for (int n = 0; n < numPoints; n++) {
+                // Small integer coordinates give coincident and collinear points
+                points[n] = new Point(random.nextInt(7) - 3, random.nextInt(7) - 3);
+                stream.addPoint(points[n]);
+
+                AntiMissileSystem antiMissileSystem =
+                        new AntiMissileSystem(n + 1, Arrays.copyOf(points, n + 1), parameters, lcm, puv);
+                antiMissileSystem.populateCMV();
+                antiMissileSystem.populatePUM();
+                antiMissileSystem.generateFUV();
+
+                assertEquals(n + 1, stream.numPoints);
+                assertArrayEquals(antiMissileSystem.cmv, stream.cmv);
+                assertArrayEquals(antiMissileSystem.fuv, stream.fuv);
+                assertEquals(antiMissileSystem.decide(), stream.decide());
+            }
+        }
+    }
+
+    @Test
+    void testDecide() {
+        // Contract: decide() becomes true once the LICs unlocked by the PUV are met.
+        Parameters parameters = new Parameters();
+        parameters.length1 = 5;
+        parameters.nPTS = 3;
+        Connector[][] lcm = new Connector[15][15];
+        for (Connector[] row : lcm) {
+            Arrays.fill(row, Connector.NOTUSED);
+        }
+        lcm[0][0] = Connector.ANDD;
+        boolean[] puv = new boolean[15];
+        puv[0] = true;
+
+        StreamingAntiMissileSystem stream = new StreamingAntiMissileSystem(parameters, lcm, puv);
+        assertFalse(stream.decide());
+
+        stream.addPoint(0.0, 0.0);
+        stream.addPoint(3.0, 4.0);
+        assertFalse(stream.decide());
+
+        stream.addPoint(10.0, 4.0);
+        assertTrue(stream.cmv[0]);
+        assertTrue(stream.decide());
+
+        // Met conditions stay met as the track grows
+        stream.addPoint(10.0, 4.0);
+        assertTrue(stream.decide());
+    }
+
+    @Test
+    void testSpanTooWide() {
+        // Contract: parameters whose windows together span more than MAX_SPAN points, even when
+        // their sum overflows an int, are rejected instead of sizing the ring buffer wrongly.
+        Parameters parameters = new Parameters();
+        parameters.aPTS = Integer.MAX_VALUE;
+        parameters.bPTS = Integer.MAX_VALUE;
+        assertThrows(IllegalArgumentException.class,
+                () -> new StreamingAntiMissileSystem(parameters, new Connector[15][15], new boolean[15]));
+
+        Parameters wide = new Parameters();
+        wide.gPTS = StreamingAntiMissileSystem.MAX_SPAN;
+        assertThrows(IllegalArgumentException.class,
+                () -> new StreamingAntiMissileSystem(wide, new Connector[15][15], new boolean[15]));
+    }
+}
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrackReaderTest {
+
+    private static Path tempFile() throws IOException {
+        Path path = Files.createTempFile("tracks", ".bin");
+        path.toFile().deleteOnExit();
+        return path;
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        // Contract: the tracks written by TrackWriter are read back in order with the same
+        // configuration ids and coordinates, also when records cross a mapped region.
+        Random random = new Random(4);
+        int tracks = 200;
+        int[] configIds = new int[tracks];
+        double[][] xs = new double[tracks][];
+        double[][] ys = new double[tracks][];
+        Path path = tempFile();
+        try (TrackWriter writer = TrackWriter.create(path)) {
+            for (int track = 0; track < tracks; track++) {
+                configIds[track] = random.nextInt();
+                int numPoints = random.nextInt(300);
+                xs[track] = new double[numPoints];
+                ys[track] = new double[numPoints];
+                for (int i = 0; i < numPoints; i++) {
+                    xs[track][i] = random.nextGaussian() * 1e4;
+                    ys[track][i] = random.nextGaussian() * 1e4;
+                }
+                writer.write(configIds[track], numPoints, xs[track], ys[track]);
+            }
+        }
+
+        for (int regionSize : new int[]{TrackReader.REGION_SIZE, 4096}) {
+            try (TrackReader reader = new TrackReader(FileChannel.open(path, StandardOpenOption.READ), regionSize)) {
+                long offset = TrackReader.HEADER_SIZE;
+                for (int track = 0; track < tracks; track++) {
+                    assertTrue(reader.next());
+                    assertEquals(offset, reader.offset);
+                    assertEquals(configIds[track], reader.configId);
+                    assertEquals(xs[track].length, reader.numPoints);
+                    assertArrayEquals(xs[track], Arrays.copyOf(reader.xs, reader.numPoints));
+                    assertArrayEquals(ys[track], Arrays.copyOf(reader.ys, reader.numPoints));
+                    offset += TrackReader.RECORD_HEADER_SIZE + 16L * reader.numPoints;
+                }
+                assertFalse(reader.next());
+            }
+        }
+    }
+
+    @Test
+    void testRejectsInvalidFiles() throws IOException {
+        // Contract: files without the header and truncated records are reported as IOExceptions.
+        Path path = tempFile();
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> TrackReader.open(path));
+
+        try (TrackWriter writer = TrackWriter.create(path)) {
+            writer.write(1, 2, new double[]{1, 2}, new double[]{3, 4});
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        try (TrackReader reader = TrackReader.open(path)) {
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+}